@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.model.poll;
+
+import io.github.aosn.mosaic.domain.model.auth.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the {@link Poll} methods called on every poll view.
+ *
+ * @author mikan
+ * @since 0.7
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PollBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int books;
+
+    @Param({"10", "1000", "100000"})
+    private int votes;
+
+    private Poll poll;
+    private User lastVoter;
+    private User nonVoter;
+    private Book popularBook;
+
+    @Setup
+    public void setUp() {
+        poll = SyntheticPolls.create(books, votes, 2);
+        var pollVotes = poll.getVotes();
+        lastVoter = pollVotes.get(pollVotes.size() - 1).getUser();
+        nonVoter = SyntheticPolls.user(Long.MAX_VALUE);
+        popularBook = poll.getBooks().get(books / 2);
+    }
+
+    @Benchmark
+    public Book judgeWinner() {
+        return poll.judgeWinner();
+    }
+
+    @Benchmark
+    public Ranking rank() {
+        return poll.rank();
+    }
+
+    @Benchmark
+    public Ranking rankByVotes() {
+        return Ranking.fromVotes(poll.getBooks(), poll.getVotes());
+    }
+
+    @Benchmark
+    public Ranking rankBorda() {
+        return VotingMethod.BORDA.rank(poll.getBooks(), poll.getDoubles(),
+                Ballots.from(poll.getBooks(), poll.getVotes()));
+    }
+
+    @Benchmark
+    public Ranking rankInstantRunoff() {
+        return VotingMethod.INSTANT_RUNOFF.rank(poll.getBooks(), poll.getDoubles(),
+                Ballots.from(poll.getBooks(), poll.getVotes()));
+    }
+
+    @Benchmark
+    public List<User> getVoters() {
+        return poll.getVoters();
+    }
+
+    @Benchmark
+    public boolean isVotedByLastVoter() {
+        return poll.isVoted(lastVoter);
+    }
+
+    @Benchmark
+    public boolean isVotedByNonVoter() {
+        return poll.isVoted(nonVoter);
+    }
+
+    @Benchmark
+    public Poll.PopularityRate calcPopularityRate() {
+        return poll.calcPopularityRate(popularBook);
+    }
+}
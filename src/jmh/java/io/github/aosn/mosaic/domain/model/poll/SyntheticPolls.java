@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.model.poll;
+
+import io.github.aosn.mosaic.domain.model.auth.User;
+import io.github.aosn.mosaic.domain.model.issue.GitHubIssue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Synthetic polls for benchmarks.
+ *
+ * @author mikan
+ * @since 0.7
+ */
+public final class SyntheticPolls {
+
+    private static final long SEED = 20200216L;
+
+    private SyntheticPolls() {
+    }
+
+    /**
+     * Create a poll with randomly distributed votes.
+     * <p>Each voter votes {@code doubles} distinct books, so the number of voters is {@code votes / doubles}.</p>
+     *
+     * @param bookCount number of books
+     * @param voteCount number of votes
+     * @param doubles   number of votes per voter
+     * @return poll with books, votes, tallies and voter count
+     */
+    public static Poll create(int bookCount, int voteCount, int doubles) {
+        var random = new Random(SEED);
+        var owner = user(0);
+        var books = new ArrayList<Book>(bookCount);
+        for (var i = 0; i < bookCount; i++) {
+            books.add(Book.builder().id((long) i + 1).issue((long) i + 1).url("https://example.com/issues/" + (i + 1))
+                    .gitHubIssue(new GitHubIssue()).build());
+        }
+        var counts = new int[bookCount];
+        var votes = new ArrayList<Vote>(voteCount);
+        var voterCount = 0;
+        while (votes.size() < voteCount) {
+            var voter = user(++voterCount);
+            var first = random.nextInt(bookCount);
+            for (var i = 0; i < doubles && i < bookCount && votes.size() < voteCount; i++) {
+                var index = (first + i) % bookCount;
+                counts[index]++;
+                votes.add(Vote.builder().id((long) votes.size() + 1).user(voter).book(books.get(index)).build());
+            }
+        }
+        var poll = Poll.builder()
+                .id(1L).subject("benchmark").owner(owner).state(Poll.PollState.OPEN)
+                .begin(java.sql.Date.valueOf(LocalDate.now())).end(java.sql.Date.valueOf(LocalDate.now()))
+                .doubles(doubles).books(books).votes(votes).voterCount(voterCount);
+        var tallies = new ArrayList<Tally>(bookCount);
+        for (var i = 0; i < bookCount; i++) {
+            tallies.add(Tally.builder().id((long) i + 1).book(books.get(i)).votes(counts[i]).build());
+        }
+        return poll.tallies(tallies).build();
+    }
+
+    /**
+     * Create a user.
+     *
+     * @param id user id
+     * @return user
+     */
+    public static User user(long id) {
+        return User.builder().id(id).name("user" + id).source(User.Source.GITHUB).build();
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.service.issue;
+
+import io.github.aosn.mosaic.domain.model.poll.Poll;
+import io.github.aosn.mosaic.domain.model.poll.SyntheticPolls;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link IssueService#resolveBooks(Poll)} for polls of which issues are already stored.
+ * <p>GitHub is never called since all books have their issue snapshots, so this measures mapping tallies to
+ * books only.</p>
+ *
+ * @author mikan
+ * @since 0.7
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResolveBooksBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int books;
+
+    @Param({"10", "1000", "100000"})
+    private int votes;
+
+    private IssueService issueService;
+    private Poll poll;
+
+    @Setup
+    public void setUp() {
+        issueService = new IssueService(null, null, null, null, null);
+        poll = SyntheticPolls.create(books, votes, 2);
+    }
+
+    @Benchmark
+    public Poll resolveBooks() {
+        return issueService.resolveBooks(poll);
+    }
+}
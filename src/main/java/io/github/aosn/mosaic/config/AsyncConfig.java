@@ -3,8 +3,33 @@
  */
 package io.github.aosn.mosaic.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+/**
+ * Provides the bounded executor for {@link org.springframework.scheduling.annotation.Async} methods and
+ * notifications.
+ *
+ * @author mikan
+ * @since 0.5
+ */
+@Configuration
 @EnableAsync
 public class AsyncConfig {
+
+    @Bean
+    ThreadPoolTaskExecutor taskExecutor(@Value("${mosaic.async.threads:2}") int threads,
+                                        @Value("${mosaic.async.capacity:100}") int capacity) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(capacity);
+        executor.setThreadNamePrefix("mosaic-async-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
 }
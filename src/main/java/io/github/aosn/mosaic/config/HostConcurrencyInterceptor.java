@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.config;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits the number of concurrent requests per host, for both synchronous and asynchronous calls.
+ * <p>A permit is held until the response headers are received, the response body is read without it.</p>
+ *
+ * @author mikan
+ * @since 0.7
+ */
+class HostConcurrencyInterceptor implements Interceptor {
+
+    private final Map<String, Semaphore> semaphores = new ConcurrentHashMap<>();
+    private final int maxPerHost;
+
+    /**
+     * @param maxPerHost maximum number of concurrent requests per host
+     */
+    HostConcurrencyInterceptor(int maxPerHost) {
+        if (maxPerHost <= 0) {
+            throw new IllegalArgumentException("maxPerHost accepts 1 or over");
+        }
+        this.maxPerHost = maxPerHost;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        var semaphore = semaphores.computeIfAbsent(chain.request().url().host(), k -> new Semaphore(maxPerHost));
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + chain.request().url().host());
+        }
+        try {
+            return chain.proceed(chain.request());
+        } finally {
+            semaphore.release();
+        }
+    }
+}
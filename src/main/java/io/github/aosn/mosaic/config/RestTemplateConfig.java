@@ -3,11 +3,23 @@
  */
 package io.github.aosn.mosaic.config;
 
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.OkHttp3ClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 /**
+ * Provides the HTTP client shared by all outbound integrations (GitHub, Google Books and Slack).
+ * <p>Connections are pooled and kept alive, and HTTP/2 is used if the server supports it. The concurrent
+ * requests per host are limited by {@code mosaic.http.max-per-host}, see {@link HostConcurrencyInterceptor}.</p>
+ *
  * @author mikan
  * @since 0.1
  */
@@ -15,7 +27,23 @@ import org.springframework.web.client.RestTemplate;
 public class RestTemplateConfig {
 
     @Bean
-    RestTemplate restTemplate() {
-        return new RestTemplate();
+    OkHttpClient okHttpClient(@Value("${mosaic.http.connect-timeout:5000}") long connectTimeout,
+                              @Value("${mosaic.http.read-timeout:30000}") long readTimeout,
+                              @Value("${mosaic.http.max-idle:10}") int maxIdle,
+                              @Value("${mosaic.http.keep-alive:300000}") long keepAlive,
+                              @Value("${mosaic.http.max-per-host:10}") int maxPerHost) {
+        return new OkHttpClient.Builder()
+                .connectTimeout(connectTimeout, TimeUnit.MILLISECONDS)
+                .readTimeout(readTimeout, TimeUnit.MILLISECONDS)
+                .writeTimeout(readTimeout, TimeUnit.MILLISECONDS)
+                .connectionPool(new ConnectionPool(maxIdle, keepAlive, TimeUnit.MILLISECONDS))
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .addInterceptor(new HostConcurrencyInterceptor(maxPerHost))
+                .build();
+    }
+
+    @Bean
+    RestTemplate restTemplate(OkHttpClient okHttpClient) {
+        return new RestTemplate(new OkHttp3ClientHttpRequestFactory(okHttpClient));
     }
 }
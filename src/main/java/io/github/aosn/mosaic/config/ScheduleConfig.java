@@ -0,0 +1,33 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Provides the scheduler for {@link org.springframework.scheduling.annotation.Scheduled} methods.
+ * <p>The default scheduler has only one thread, so a slow job (e.g. refreshing issues from GitHub) would delay
+ * the outbox sweep and the poll closer.</p>
+ *
+ * @author mikan
+ * @since 0.7
+ */
+@Configuration
+@EnableScheduling
+public class ScheduleConfig {
+
+    @Bean
+    ThreadPoolTaskScheduler taskScheduler(@Value("${mosaic.schedule.threads:4}") int threads) {
+        var scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(threads);
+        scheduler.setThreadNamePrefix("mosaic-schedule-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(10);
+        return scheduler;
+    }
+}
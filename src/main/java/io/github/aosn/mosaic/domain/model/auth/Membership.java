@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.model.auth;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+import io.github.aosn.mosaic.MosaicApplication;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.Date;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Organizations joined by a GitHub user, shared between application instances.
+ *
+ * @author mikan
+ * @see io.github.aosn.mosaic.domain.service.auth.UserService#isMember(String, String)
+ * @since 0.7
+ */
+@Entity
+@Table(name = "memberships")
+@NoArgsConstructor
+@ToString
+public class Membership implements Serializable {
+
+    private static final long serialVersionUID = MosaicApplication.MOSAIC_SERIAL_VERSION_UID;
+    private static final char SEPARATOR = ',';
+
+    @Id
+    @Column(length = 40)
+    @Getter
+    private String userName;
+
+    @Column(nullable = false, length = 2000)
+    private String organizations;
+
+    @Column(nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    @Getter
+    private Date updatedTime;
+
+    public static Membership create(String userName, Set<String> organizations) {
+        var membership = new Membership();
+        membership.userName = userName;
+        membership.organizations = Joiner.on(SEPARATOR).join(new TreeSet<>(organizations));
+        membership.updatedTime = new Date();
+        return membership;
+    }
+
+    public Set<String> getOrganizations() {
+        return new TreeSet<>(Splitter.on(SEPARATOR).omitEmptyStrings().splitToList(organizations));
+    }
+
+    public boolean contains(String organization) {
+        return getOrganizations().contains(organization);
+    }
+
+    /**
+     * Either updated before the specified duration or not.
+     *
+     * @param millis duration in milliseconds
+     * @return {@code true} if older than the duration
+     */
+    public boolean isOlderThan(long millis) {
+        return System.currentTimeMillis() - updatedTime.getTime() > millis;
+    }
+}
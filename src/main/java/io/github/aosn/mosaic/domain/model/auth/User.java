@@ -16,7 +16,8 @@ import java.util.Objects;
  * @since 0.1
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users",
+        uniqueConstraints = @UniqueConstraint(name = "uk_users_name_source", columnNames = {"name", "source"}))
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.model.catalog;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+import com.google.common.base.Strings;
+import io.github.aosn.mosaic.MosaicApplication;
+import io.github.aosn.mosaic.domain.model.stock.Stock;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import javax.persistence.*;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Local catalog entry, one per ISBN.
+ * <p>Entries are copied from {@link Stock}s and {@link GoogleBook}s when they are looked up by ISBN, so that
+ * the next lookup is answered without asking Google.</p>
+ *
+ * @author mikan
+ * @see io.github.aosn.mosaic.domain.service.catalog.CatalogService#searchByIsbn(String)
+ * @since 0.7
+ */
+@Entity
+@Table(name = "catalog")
+@NoArgsConstructor
+@ToString
+public class CatalogBook implements ReleasedBook {
+
+    private static final long serialVersionUID = MosaicApplication.MOSAIC_SERIAL_VERSION_UID;
+    private static final char AUTHOR_SEPARATOR = '\n';
+
+    /**
+     * ISBN13.
+     */
+    @Id
+    @Column(length = 13)
+    @Getter
+    private String isbn;
+
+    @Column(length = 200)
+    @Nullable
+    @Getter
+    private String title;
+
+    @Column(length = 200)
+    @Nullable
+    @Getter
+    private String subtitle;
+
+    @Column(nullable = false)
+    @Getter
+    private int pageCount;
+
+    @Column(nullable = false, length = 10)
+    @Getter
+    private String publishedDate;
+
+    @Column(length = 200)
+    @Nullable
+    @Getter
+    private String publisher;
+
+    @Column(length = 500)
+    @Nullable
+    private String authors;
+
+    @Column(length = 10)
+    @Nullable
+    @Getter
+    private String language;
+
+    @Column(nullable = false)
+    private boolean eBook;
+
+    @Column(length = 200)
+    @Nullable
+    @Getter
+    private String thumbnailUrl;
+
+    @Column(nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    @Getter
+    private Date createdTime;
+
+    /**
+     * Construct an entry with the stock. Publisher, authors and language are not available.
+     *
+     * @param stock stock
+     * @return entry
+     */
+    public static CatalogBook create(Stock stock) {
+        var book = new CatalogBook();
+        book.isbn = stock.getIsbn();
+        book.title = stock.getTitle();
+        book.subtitle = stock.getSubtitle();
+        book.pageCount = stock.getPageCount();
+        book.publishedDate = stock.getPublishedDate();
+        book.eBook = stock.isEBook();
+        book.thumbnailUrl = stock.getThumbnailUrl();
+        book.createdTime = new Date();
+        return book;
+    }
+
+    /**
+     * Construct an entry with the catalog result.
+     *
+     * @param released book from the catalog
+     * @return entry
+     */
+    public static CatalogBook create(GoogleBook released) {
+        var book = new CatalogBook();
+        book.isbn = released.getIsbn();
+        book.title = released.getTitle();
+        book.subtitle = released.getSubtitle();
+        book.pageCount = released.getPageCount();
+        book.publishedDate = Strings.nullToEmpty(released.getPublishedDate());
+        book.publisher = released.getPublisher();
+        book.authors = Joiner.on(AUTHOR_SEPARATOR).join(released.getAuthors());
+        book.language = released.getLanguage();
+        book.eBook = released.isEBook();
+        book.thumbnailUrl = released.getThumbnailUrl();
+        book.createdTime = new Date();
+        return book;
+    }
+
+    @Override
+    public List<String> getAuthors() {
+        return Strings.isNullOrEmpty(authors) ? List.of() : Splitter.on(AUTHOR_SEPARATOR).splitToList(authors);
+    }
+
+    @Override
+    public boolean isEBook() {
+        return eBook;
+    }
+}
@@ -63,7 +63,8 @@ public class GoogleBook implements ReleasedBook {
 
     @Override
     public List<String> getAuthors() {
-        return volumeInfo == null ? Collections.emptyList() : Arrays.asList(volumeInfo.authors);
+        return volumeInfo == null || volumeInfo.authors == null ? Collections.emptyList() :
+                Arrays.asList(volumeInfo.authors);
     }
 
     @Override
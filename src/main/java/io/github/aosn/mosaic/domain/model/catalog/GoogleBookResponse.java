@@ -31,6 +31,6 @@ public class GoogleBookResponse implements Serializable {
     private GoogleBook[] items;
 
     public List<GoogleBook> getItems() {
-        return Arrays.asList(items);
+        return items == null ? List.of() : Arrays.asList(items); // items is missing if no match
     }
 }
@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.model.notification;
+
+import io.github.aosn.mosaic.MosaicApplication;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.Date;
+import java.util.Objects;
+
+/**
+ * Slack message waiting to be sent (transactional outbox).
+ * <p>Messages are stored before sending, so that they survive restarts and are retried with backoff if Slack
+ * fails. Digest entries are stored as well until the end of the digest window, then merged with the other entries
+ * to the same destination at the time of sending.</p>
+ *
+ * @author mikan
+ * @see io.github.aosn.mosaic.domain.service.notification.NotificationService
+ * @since 0.7
+ */
+@Entity
+@Table(name = "outbox")
+@NoArgsConstructor
+@ToString(exclude = "webhook")
+public class OutboxMessage implements Serializable {
+
+    private static final long serialVersionUID = MosaicApplication.MOSAIC_SERIAL_VERSION_UID;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @Column
+    @GeneratedValue
+    @Getter
+    private Long id;
+
+    @Column(nullable = false, length = 500)
+    @Getter
+    private String webhook;
+
+    @Column(length = 200)
+    @Nullable
+    private String channel;
+
+    @Column(length = 200)
+    @Nullable
+    private String username;
+
+    @Lob
+    @Column(nullable = false)
+    private String text;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.ORDINAL)
+    @Getter
+    private State state;
+
+    @Column(nullable = false)
+    @Getter
+    private int attempts;
+
+    @Column(nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    @Getter
+    private Date createdTime;
+
+    @Column(nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    @Getter
+    private Date nextAttempt;
+
+    @Column
+    @Temporal(TemporalType.TIMESTAMP)
+    @Nullable
+    @Getter
+    private Date sentTime;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    @Nullable
+    @Getter
+    private String lastError;
+
+    /**
+     * Event of the digest entry (e.g. {@code 12:end}), posted once per digest. {@code null} for a message sent
+     * alone.
+     */
+    @Column(length = 100)
+    @Nullable
+    @Getter
+    private String digestEvent;
+
+    /**
+     * Construct a pending message.
+     *
+     * @param webhook incoming webhook url
+     * @param message message
+     * @return outbox message
+     */
+    public static OutboxMessage create(String webhook, SlackMessage message) {
+        var outbox = new OutboxMessage();
+        outbox.webhook = webhook;
+        outbox.channel = message.getChannel();
+        outbox.username = message.getUsername();
+        outbox.text = message.getText();
+        outbox.state = State.PENDING;
+        outbox.attempts = 0;
+        outbox.createdTime = new Date();
+        outbox.nextAttempt = outbox.createdTime;
+        return outbox;
+    }
+
+    /**
+     * Construct a pending digest entry.
+     *
+     * @param webhook  incoming webhook url
+     * @param event    event of the message, the entries of the same event are posted once
+     * @param message  message
+     * @param sendTime end of the digest window
+     * @return outbox message
+     */
+    public static OutboxMessage createDigest(String webhook, String event, SlackMessage message, Date sendTime) {
+        var outbox = create(webhook, message);
+        outbox.digestEvent = event;
+        outbox.nextAttempt = sendTime;
+        return outbox;
+    }
+
+    /**
+     * Either the message is posted to the same webhook, channel and username or not.
+     *
+     * @param other other message
+     * @return {@code true} if the destination is the same
+     */
+    public boolean isSameDestination(OutboxMessage other) {
+        return webhook.equals(other.webhook) && Objects.equals(channel, other.channel) &&
+                Objects.equals(username, other.username);
+    }
+
+    public SlackMessage toSlackMessage() {
+        return SlackMessage.builder().channel(channel).username(username).text(text).build();
+    }
+
+    /**
+     * Mark as sent.
+     */
+    public void sent() {
+        attempts++;
+        state = State.SENT;
+        sentTime = new Date();
+        lastError = null;
+    }
+
+    /**
+     * Mark as failed.
+     *
+     * @param error       cause of the failure
+     * @param nextAttempt time of the next attempt, or {@code null} to give up
+     */
+    public void failed(String error, @Nullable Date nextAttempt) {
+        attempts++;
+        lastError = error == null || error.length() <= MAX_ERROR_LENGTH ? error :
+                error.substring(0, MAX_ERROR_LENGTH);
+        if (nextAttempt == null) {
+            state = State.FAILED;
+        } else {
+            this.nextAttempt = nextAttempt;
+        }
+    }
+
+    public enum State {
+        PENDING,
+        SENT,
+        FAILED
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.model.poll;
+
+import io.github.aosn.mosaic.domain.model.auth.User;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Compact ballots of a poll for {@link VotingMethod}s.
+ * <p>Choices of all ballots are packed into one array of book positions. Choices of the ballot {@code b} are
+ * {@code choices[offsets[b]]} to {@code choices[offsets[b + 1] - 1]}, ordered by preference.</p>
+ *
+ * @author mikan
+ * @since 0.7
+ */
+final class Ballots {
+
+    private final int bookCount;
+    private final int[] offsets;
+    private final int[] choices;
+
+    private Ballots(int bookCount, int[] offsets, int[] choices) {
+        this.bookCount = bookCount;
+        this.offsets = offsets;
+        this.choices = choices;
+    }
+
+    /**
+     * Pack the votes into ballots, one ballot per user.
+     * <p>Votes for the other books are ignored. Votes without preference (cast before 0.7) are ordered as
+     * submitted.</p>
+     *
+     * @param books books of the poll
+     * @param votes votes of the poll
+     * @return ballots
+     */
+    static Ballots from(List<Book> books, List<Vote> votes) {
+        var indexes = Ranking.indexOf(books);
+        var ballotOf = new HashMap<User, Integer>();
+        var voteBallots = new int[votes.size()];
+        var voteBooks = new int[votes.size()];
+        var sizes = new int[votes.size() + 1];
+        var count = 0;
+        for (var i = 0; i < votes.size(); i++) {
+            var vote = votes.get(i);
+            var book = indexes.get(vote.getBook());
+            if (book == null) {
+                voteBallots[i] = -1;
+                continue;
+            }
+            var ballot = ballotOf.get(vote.getUser());
+            if (ballot == null) {
+                ballot = ballotOf.size();
+                ballotOf.put(vote.getUser(), ballot);
+            }
+            voteBallots[i] = ballot;
+            voteBooks[i] = book;
+            sizes[voteBallots[i]]++;
+            count++;
+        }
+        var ballotCount = ballotOf.size();
+        var offsets = new int[ballotCount + 1];
+        for (var b = 0; b < ballotCount; b++) {
+            offsets[b + 1] = offsets[b] + sizes[b];
+        }
+        var choices = new int[count];
+        var preferences = new int[count];
+        var next = Arrays.copyOf(offsets, ballotCount);
+        for (var i = 0; i < votes.size(); i++) {
+            var ballot = voteBallots[i];
+            if (ballot < 0) {
+                continue;
+            }
+            // insertion by preference, stable for the same preference
+            var preference = votes.get(i).getPreference();
+            var position = next[ballot]++;
+            while (position > offsets[ballot] && preferences[position - 1] > preference) {
+                choices[position] = choices[position - 1];
+                preferences[position] = preferences[position - 1];
+                position--;
+            }
+            choices[position] = voteBooks[i];
+            preferences[position] = preference;
+        }
+        return new Ballots(books.size(), offsets, choices);
+    }
+
+    int getBookCount() {
+        return bookCount;
+    }
+
+    int size() {
+        return offsets.length - 1;
+    }
+
+    int begin(int ballot) {
+        return offsets[ballot];
+    }
+
+    int end(int ballot) {
+        return offsets[ballot + 1];
+    }
+
+    int choice(int position) {
+        return choices[position];
+    }
+
+    /**
+     * Count the first choices.
+     *
+     * @return number of first choices, indexed by book position
+     */
+    int[] countFirstChoices() {
+        var counts = new int[bookCount];
+        for (var b = 0; b < size(); b++) {
+            if (begin(b) < end(b)) {
+                counts[choice(begin(b))]++;
+            }
+        }
+        return counts;
+    }
+}
@@ -3,12 +3,18 @@
  */
 package io.github.aosn.mosaic.domain.model.poll;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.aosn.mosaic.MosaicApplication;
 import io.github.aosn.mosaic.domain.model.issue.GitHubIssue;
 import lombok.*;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import javax.persistence.*;
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.Date;
 import java.util.Objects;
 
 /**
@@ -39,11 +45,38 @@ public class Book implements Serializable {
     @Getter
     private String url;
 
-    @Transient // hand joining via IssueService
+    /**
+     * Snapshot of the GitHub issue, stored as JSON.
+     * {@code null} for books created before 0.7 not resolved yet.
+     * <p>Mapped to a long varchar (longtext on MySQL), since {@link Lob} cannot be combined with a converter.</p>
+     *
+     * @see io.github.aosn.mosaic.domain.service.issue.IssueService#resolveBooks(Poll)
+     */
+    @Column(length = 1 << 20)
+    @Convert(converter = GitHubIssueConverter.class)
     @Getter
-    @Setter
     private GitHubIssue gitHubIssue;
 
+    /**
+     * Rendered HTML of the issue body.
+     *
+     * @since 0.7
+     */
+    @Lob
+    @Column
+    @Getter
+    private String bodyHtml;
+
+    /**
+     * Time of {@link #gitHubIssue} retrieved.
+     *
+     * @since 0.7
+     */
+    @Column
+    @Temporal(TemporalType.TIMESTAMP)
+    @Getter
+    private Date issueFetched;
+
     /**
      * Cached number of votes.
      * This field is excluded from database table.
@@ -55,6 +88,19 @@ public class Book implements Serializable {
     @Setter
     private int votes;
 
+    /**
+     * Replace the issue snapshot.
+     *
+     * @param gitHubIssue issue retrieved from GitHub
+     * @param bodyHtml    rendered HTML of the issue body
+     * @since 0.7
+     */
+    public void updateIssue(GitHubIssue gitHubIssue, String bodyHtml) {
+        this.gitHubIssue = gitHubIssue;
+        this.bodyHtml = bodyHtml;
+        this.issueFetched = new Date();
+    }
+
     @Override
     public boolean equals(Object other) {
         if (this == other) {
@@ -74,4 +120,41 @@ public class Book implements Serializable {
     public int hashCode() {
         return Objects.hashCode(id);
     }
+
+    /**
+     * Converts {@link GitHubIssue} to the JSON as same as GitHub API.
+     *
+     * @author mikan
+     * @since 0.7
+     */
+    @Converter
+    public static class GitHubIssueConverter implements AttributeConverter<GitHubIssue, String> {
+
+        private static final ObjectMapper MAPPER = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        @Override
+        public String convertToDatabaseColumn(@Nullable GitHubIssue attribute) {
+            if (attribute == null) {
+                return null;
+            }
+            try {
+                return MAPPER.writeValueAsString(attribute);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Cannot convert issue: #" + attribute.getId(), e);
+            }
+        }
+
+        @Override
+        public GitHubIssue convertToEntityAttribute(@Nullable String dbData) {
+            if (dbData == null || dbData.isEmpty()) {
+                return null;
+            }
+            try {
+                return MAPPER.readValue(dbData, GitHubIssue.class);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Cannot convert issue: " + dbData, e);
+            }
+        }
+    }
 }
@@ -7,8 +7,6 @@ import io.github.aosn.mosaic.MosaicApplication;
 import io.github.aosn.mosaic.domain.model.auth.User;
 import lombok.*;
 import org.checkerframework.checker.nullness.qual.Nullable;
-import org.hibernate.annotations.LazyCollection;
-import org.hibernate.annotations.LazyCollectionOption;
 import org.hibernate.annotations.NotFound;
 import org.hibernate.annotations.NotFoundAction;
 
@@ -17,21 +15,20 @@ import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 /**
  * Poll entity.
+ * <p>{@link #books}, {@link #votes} and {@link #tallies} are loaded lazily. Use
+ * {@link io.github.aosn.mosaic.domain.service.poll.PollService#get(Long)} to obtain a poll with initialized
+ * collections, or {@link PollSummary} for listing.</p>
  *
  * @author mikan
  * @since 0.1
  */
 @Entity
-@Table(name = "polls")
+@Table(name = "polls", indexes = @Index(name = "idx_polls_state_end", columnList = "state, end"))
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -77,20 +74,46 @@ public class Poll implements Serializable {
     @Setter
     private Integer doubles;
 
+    /**
+     * How to count the votes, {@code null} for polls created before 0.7 (plurality).
+     *
+     * @since 0.7
+     */
+    @Column
+    @Enumerated(EnumType.ORDINAL)
+    @Nullable
+    private VotingMethod votingMethod;
+
     @JoinColumn
     @ManyToMany(cascade = CascadeType.ALL)
-    @LazyCollection(LazyCollectionOption.FALSE)
     @Getter
     @Setter
     private List<Book> books;
 
-    @JoinColumn
-    @OneToMany(cascade = CascadeType.ALL)
-    @LazyCollection(LazyCollectionOption.FALSE)
+    @OneToMany(mappedBy = "poll")
     @Getter
     @Setter
     private List<Vote> votes;
 
+    /**
+     * Number of votes per book.
+     *
+     * @since 0.7
+     */
+    @OneToMany(mappedBy = "poll")
+    @Getter
+    private List<Tally> tallies;
+
+    /**
+     * Number of distinct voters.
+     * <p>This column is maintained by {@link io.github.aosn.mosaic.domain.repository.poll.PollRepository} only,
+     * never written back by saving this entity. {@code null} for polls created before 0.7 not counted yet.</p>
+     *
+     * @since 0.7
+     */
+    @Column(updatable = false)
+    private Integer voterCount;
+
     @JoinColumn
     @OneToOne
     @NotFound(action = NotFoundAction.IGNORE)
@@ -126,30 +149,73 @@ public class Poll implements Serializable {
         poll.begin = java.sql.Date.valueOf(now);
         poll.setEnd(now.plusDays(1));
         poll.doubles = 2;
+        poll.votingMethod = VotingMethod.PLURALITY;
         poll.votes = Collections.emptyList();
+        poll.tallies = Collections.emptyList();
+        poll.voterCount = 0;
         return poll;
     }
 
+    /**
+     * Judge the winner by the voting method.
+     *
+     * @return first book of the ranking, or {@code null} if no votes
+     * @see #rank()
+     */
     public Book judgeWinner() {
-        var votesMap = new HashMap<Book, Integer>();
-        var max = new AtomicInteger(0);
-        votes.stream().collect(Collectors.groupingBy(Vote::getBook)).forEach((k, v) -> {
-            votesMap.put(k, v.size());
-            max.set(Math.max(max.get(), v.size()));
-        });
-        // duplicate check
-        var maxCount = new LongAdder();
-        var winner = new AtomicReference<Book>();
-        votesMap.forEach((k, v) -> {
-            if (v == max.get()) {
-                winner.set(k);
-                maxCount.increment();
-            }
-        });
-        if (maxCount.sum() != 1) {
-            return null; // duplicate
+        return rank().getWinner();
+    }
+
+    /**
+     * Rank the books by the voting method.
+     * <p>Unranked methods are counted from the tallies, ranked methods from the ballots of all votes.</p>
+     *
+     * @return ranking of all books, including ties and margins
+     * @since 0.7
+     */
+    public Ranking rank() {
+        if (books != null && !getVotingMethod().isRanked()) {
+            return Ranking.fromTallies(books, getTalliesOrEmpty());
+        }
+        return rank(votes == null ? Collections.emptyList() : votes);
+    }
+
+    /**
+     * Rank the books by the voting method with the specified votes, e.g. the votes received after loading.
+     *
+     * @param votes all votes of this poll
+     * @return ranking of all books, including ties and margins
+     * @since 0.7
+     */
+    public Ranking rank(List<Vote> votes) {
+        if (books == null) {
+            return Ranking.empty();
+        }
+        var method = getVotingMethod();
+        if (!method.isRanked()) {
+            return Ranking.fromVotes(books, votes);
         }
-        return winner.get();
+        return method.rank(books, doubles, Ballots.from(books, votes));
+    }
+
+    /**
+     * Get the voting method.
+     *
+     * @return voting method, {@link VotingMethod#PLURALITY} for polls created before 0.7
+     * @since 0.7
+     */
+    public VotingMethod getVotingMethod() {
+        return votingMethod == null ? VotingMethod.PLURALITY : votingMethod;
+    }
+
+    /**
+     * Set the voting method.
+     *
+     * @param votingMethod voting method
+     * @since 0.7
+     */
+    public void setVotingMethod(VotingMethod votingMethod) {
+        this.votingMethod = votingMethod;
     }
 
     public boolean isOwner(User user) {
@@ -172,6 +238,42 @@ public class Poll implements Serializable {
         return votes.stream().map(Vote::getUser).distinct().collect(Collectors.toList());
     }
 
+    /**
+     * Get number of distinct voters.
+     *
+     * @return number of voters
+     * @since 0.7
+     */
+    public int getVoterCount() {
+        return voterCount == null ? 0 : voterCount;
+    }
+
+    /**
+     * Either number of voters and tallies are counted or not.
+     *
+     * @return {@code false} if this poll was created before 0.7 and not counted yet
+     * @since 0.7
+     */
+    public boolean isCounted() {
+        return voterCount != null;
+    }
+
+    /**
+     * Get number of votes by book.
+     *
+     * @param book book
+     * @return number of votes, or zero if not voted
+     * @since 0.7
+     */
+    public int countVotes(Book book) {
+        for (var tally : getTalliesOrEmpty()) {
+            if (tally.getBook().equals(book)) {
+                return tally.getVotes();
+            }
+        }
+        return 0;
+    }
+
     /**
      * Calculate the popularity rate by book.
      *
@@ -182,7 +284,7 @@ public class Poll implements Serializable {
         if (book == null || !books.contains(book)) {
             return new PopularityRate(0, 0);
         }
-        return new PopularityRate(book.getVotes(), getVoters().size());
+        return new PopularityRate(countVotes(book), getVoterCount());
     }
 
     /**
@@ -205,6 +307,10 @@ public class Poll implements Serializable {
         this.end = java.sql.Date.valueOf(end);
     }
 
+    private List<Tally> getTalliesOrEmpty() {
+        return tallies == null ? Collections.emptyList() : tallies;
+    }
+
     public enum PollState {
         @SuppressWarnings("unused") PRE_OPEN, // currently unused yet
         OPEN,
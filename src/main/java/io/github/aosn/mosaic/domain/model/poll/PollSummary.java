@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.model.poll;
+
+import io.github.aosn.mosaic.MosaicApplication;
+import io.github.aosn.mosaic.domain.model.auth.User;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * Read-only projection of {@link Poll} for listing, without books and votes.
+ *
+ * @author mikan
+ * @see io.github.aosn.mosaic.domain.repository.poll.PollRepository
+ * @since 0.7
+ */
+@Getter
+@ToString(exclude = "owner")
+public class PollSummary implements Serializable {
+
+    private static final long serialVersionUID = MosaicApplication.MOSAIC_SERIAL_VERSION_UID;
+    private final Long id;
+    private final String subject;
+    private final Poll.PollState state;
+    private final Date begin;
+    private final Date end;
+    private final int voters;
+    private final User owner;
+    private final boolean voted;
+
+    /**
+     * Constructs a summary, used by JPQL constructor expression.
+     *
+     * @param id         poll id
+     * @param subject    subject
+     * @param state      state
+     * @param begin      begin
+     * @param end        end
+     * @param voterCount number of voters, or {@code null} if not counted yet
+     * @param owner      owner user
+     * @param votes      number of votes by the current user
+     */
+    public PollSummary(Long id, String subject, Poll.PollState state, Date begin, Date end, Integer voterCount,
+                       User owner, Long votes) {
+        this.id = id;
+        this.subject = subject;
+        this.state = state;
+        this.begin = begin;
+        this.end = end;
+        this.voters = voterCount == null ? 0 : voterCount;
+        this.owner = owner;
+        this.voted = votes != null && votes > 0;
+    }
+
+    public boolean isOwner(User user) {
+        return user != null && owner.equals(user);
+    }
+}
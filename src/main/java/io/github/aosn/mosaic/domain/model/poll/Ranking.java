@@ -0,0 +1,275 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.model.poll;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Books of a poll ordered by the result of a {@link VotingMethod}.
+ * <p>Books are ordered by the sort keys given by the voting method, descending in lexicographic order. Books with
+ * the same keys are ordered by the issue number, ascending (the earlier proposal wins), so that the order is
+ * always deterministic. Counting is done by the callers into primitive arrays indexed by the position of the
+ * book, so that neither counting nor sorting allocates per vote.</p>
+ *
+ * @author mikan
+ * @see Poll#rank()
+ * @since 0.7
+ */
+public final class Ranking {
+
+    private final Book[] books; // ordered by rank
+    private final int[] votes; // votes[i] is the score of books[i]
+    private final int[][] keys; // keys[k][i] is the k-th sort key of books[i]
+    private final Map<Book, Integer> ranks;
+
+    /**
+     * Constructs a ranking.
+     *
+     * @param pollBooks books of the poll
+     * @param scores    score of each book to display, indexed by the position in {@code pollBooks}
+     * @param sortKeys  sort keys of each book, indexed by the position in {@code pollBooks}
+     */
+    Ranking(List<Book> pollBooks, int[] scores, int[]... sortKeys) {
+        var size = pollBooks.size();
+        var order = new int[size];
+        Arrays.setAll(order, i -> i);
+        // least significant key first, each pass is stable
+        sortStable(order, issueOrder(pollBooks), false);
+        for (var k = sortKeys.length - 1; k >= 0; k--) {
+            sortStable(order, sortKeys[k], true);
+        }
+        books = new Book[size];
+        votes = new int[size];
+        keys = new int[sortKeys.length][size];
+        ranks = new HashMap<>(size * 2);
+        for (var rank = 0; rank < size; rank++) {
+            int index = order[rank];
+            books[rank] = pollBooks.get(index);
+            votes[rank] = scores[index];
+            for (var k = 0; k < sortKeys.length; k++) {
+                keys[k][rank] = sortKeys[k][index];
+            }
+            ranks.put(books[rank], rank);
+        }
+    }
+
+    /**
+     * Rank the books by the tallies.
+     *
+     * @param books   books of the poll
+     * @param tallies tallies of the poll, books without tally are counted as zero
+     * @return ranking
+     */
+    public static Ranking fromTallies(List<Book> books, List<Tally> tallies) {
+        var indexes = indexOf(books);
+        var counts = new int[books.size()];
+        for (var tally : tallies) {
+            var index = indexes.get(tally.getBook());
+            if (index != null) {
+                counts[index] += tally.getVotes();
+            }
+        }
+        return new Ranking(books, counts, counts);
+    }
+
+    /**
+     * Rank the books by counting the votes.
+     *
+     * @param books books of the poll
+     * @param votes votes of the poll, votes for the other books are ignored
+     * @return ranking
+     */
+    public static Ranking fromVotes(List<Book> books, List<Vote> votes) {
+        var indexes = indexOf(books);
+        var counts = new int[books.size()];
+        for (var vote : votes) {
+            var index = indexes.get(vote.getBook());
+            if (index != null) {
+                counts[index]++;
+            }
+        }
+        return new Ranking(books, counts, counts);
+    }
+
+    /**
+     * Empty ranking.
+     *
+     * @return ranking without books
+     */
+    public static Ranking empty() {
+        return new Ranking(Collections.emptyList(), new int[0]);
+    }
+
+    /**
+     * Sort the indexes by the key without boxing, keeping the current order of the same keys.
+     * <p>Each key is packed with the current position into a {@code long}, so that a primitive sort is stable.</p>
+     *
+     * @param order      indexes to sort
+     * @param key        key of each index
+     * @param descending {@code true} to sort the larger key first
+     */
+    private static void sortStable(int[] order, int[] key, boolean descending) {
+        var packed = new long[order.length];
+        for (var i = 0; i < order.length; i++) {
+            var unsigned = (key[order[i]] ^ Integer.MIN_VALUE) & 0xFFFF_FFFFL;
+            if (descending) {
+                unsigned = 0xFFFF_FFFFL - unsigned;
+            }
+            packed[i] = (unsigned << 32 | i) ^ Long.MIN_VALUE;
+        }
+        Arrays.sort(packed);
+        var sorted = new int[order.length];
+        for (var i = 0; i < order.length; i++) {
+            sorted[i] = order[(int) packed[i]];
+        }
+        System.arraycopy(sorted, 0, order, 0, order.length);
+    }
+
+    /**
+     * Get the order of the issue number of each book, books without issue number come last.
+     *
+     * @param books books
+     * @return zero-origin order of the issue number, indexed by the position in {@code books}
+     */
+    private static int[] issueOrder(List<Book> books) {
+        var issues = books.stream().map(Book::getIssue).filter(Objects::nonNull)
+                .mapToLong(Long::longValue).sorted().toArray();
+        var order = new int[books.size()];
+        for (var i = 0; i < order.length; i++) {
+            var issue = books.get(i).getIssue();
+            order[i] = issue == null ? issues.length : Arrays.binarySearch(issues, issue);
+        }
+        return order;
+    }
+
+    static Map<Book, Integer> indexOf(List<Book> books) {
+        var indexes = new HashMap<Book, Integer>(books.size() * 2);
+        for (var i = 0; i < books.size(); i++) {
+            indexes.putIfAbsent(books.get(i), i);
+        }
+        return indexes;
+    }
+
+    /**
+     * Get number of ranked books.
+     *
+     * @return number of books
+     */
+    public int size() {
+        return books.length;
+    }
+
+    /**
+     * Get the book at the rank.
+     *
+     * @param rank zero-origin rank
+     * @return book
+     * @throws ArrayIndexOutOfBoundsException if rank is out of range
+     */
+    public Book getBook(int rank) {
+        return books[rank];
+    }
+
+    /**
+     * Get the score at the rank.
+     * <p>The score is number of votes for plurality and approval, points for Borda, and number of votes in the
+     * last counted round for instant-runoff.</p>
+     *
+     * @param rank zero-origin rank
+     * @return score
+     * @throws ArrayIndexOutOfBoundsException if rank is out of range
+     */
+    public int getVotes(int rank) {
+        return votes[rank];
+    }
+
+    /**
+     * Get the score by book.
+     *
+     * @param book book
+     * @return score, or zero if the book is not ranked
+     * @see #getVotes(int)
+     */
+    public int getVotes(@Nullable Book book) {
+        var rank = book == null ? null : ranks.get(book);
+        return rank == null ? 0 : votes[rank];
+    }
+
+    /**
+     * Get the place of the rank, shared by the books tied before the tie-break by issue number (e.g. 1, 1, 3).
+     *
+     * @param rank zero-origin rank
+     * @return one-origin place
+     * @throws ArrayIndexOutOfBoundsException if rank is out of range
+     */
+    public int getPlace(int rank) {
+        var first = rank;
+        while (first > 0 && isTied(first - 1, rank)) {
+            first--;
+        }
+        return first + 1;
+    }
+
+    /**
+     * Get the margin of the score to the next rank.
+     *
+     * @param rank zero-origin rank
+     * @return difference of the score from the next rank, or the score of the last rank
+     * @throws ArrayIndexOutOfBoundsException if rank is out of range
+     */
+    public int getMargin(int rank) {
+        return rank + 1 < votes.length ? votes[rank] - votes[rank + 1] : votes[rank];
+    }
+
+    /**
+     * Get number of books tied for the first place before the tie-break by issue number.
+     *
+     * @return number of the leading books, or zero if no votes
+     */
+    public int countLeaders() {
+        if (votes.length == 0 || votes[0] == 0) {
+            return 0;
+        }
+        var count = 1;
+        while (count < votes.length && isTied(0, count)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Either the winner is decided by the issue number or not.
+     *
+     * @return {@code true} if two or more books lead with the same sort keys
+     */
+    public boolean isTie() {
+        return countLeaders() > 1;
+    }
+
+    /**
+     * Get the winner.
+     *
+     * @return first book, or {@code null} if no votes
+     */
+    @Nullable
+    public Book getWinner() {
+        return countLeaders() > 0 ? books[0] : null;
+    }
+
+    private boolean isTied(int rank1, int rank2) {
+        for (var key : keys) {
+            if (key[rank1] != key[rank2]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
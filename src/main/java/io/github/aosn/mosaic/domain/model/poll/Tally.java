@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.model.poll;
+
+import io.github.aosn.mosaic.MosaicApplication;
+import lombok.*;
+
+import javax.persistence.*;
+import java.io.Serializable;
+
+/**
+ * Tally entity, holds the number of votes per (poll, book).
+ * <p>Rows are created with the poll and incremented by
+ * {@link io.github.aosn.mosaic.domain.service.poll.PollService#submitAsync(Poll, java.util.List)}, so that
+ * the result views never have to count the whole {@link Vote} collection.</p>
+ *
+ * @author mikan
+ * @since 0.7
+ */
+@Entity
+@Table(name = "tallies",
+        uniqueConstraints = @UniqueConstraint(name = "uk_tallies_poll_book", columnNames = {"poll_id", "book_id"}))
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(exclude = "poll")
+public class Tally implements Serializable {
+
+    private static final long serialVersionUID = MosaicApplication.MOSAIC_SERIAL_VERSION_UID;
+
+    @Id
+    @Column
+    @GeneratedValue
+    private Long id;
+
+    @JoinColumn(nullable = false)
+    @ManyToOne
+    @Getter
+    private Poll poll;
+
+    @JoinColumn(nullable = false)
+    @ManyToOne
+    @Getter
+    private Book book;
+
+    @Column(nullable = false)
+    @Getter
+    private int votes;
+
+    /**
+     * Construct an empty tally.
+     *
+     * @param poll poll
+     * @param book book
+     * @return tally
+     */
+    public static Tally create(Poll poll, Book book) {
+        return new Tally(null, poll, book, 0);
+    }
+}
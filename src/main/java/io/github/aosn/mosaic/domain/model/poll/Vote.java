@@ -18,7 +18,9 @@ import java.util.Date;
  * @since 0.1
  */
 @Entity
-@Table(name = "votes")
+@Table(name = "votes", uniqueConstraints = @UniqueConstraint(name = "uk_votes_poll_user_book",
+        columnNames = {"poll_id", "user_id", "book_id"}),
+        indexes = @Index(name = "idx_votes_book", columnList = "book_id"))
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -50,4 +52,23 @@ public class Vote implements Serializable {
     @JoinColumn(nullable = false)
     @ManyToOne
     private Poll poll;
+
+    /**
+     * Zero-origin position of this vote in the ballot of the user, significant for the ranked
+     * {@link VotingMethod}s. {@code null} for votes cast before 0.7.
+     *
+     * @since 0.7
+     */
+    @Column
+    private Integer preference;
+
+    /**
+     * Get the position of this vote in the ballot.
+     *
+     * @return zero-origin position, or zero if not recorded
+     * @since 0.7
+     */
+    public int getPreference() {
+        return preference == null ? 0 : preference;
+    }
 }
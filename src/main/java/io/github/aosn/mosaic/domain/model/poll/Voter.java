@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.model.poll;
+
+import io.github.aosn.mosaic.MosaicApplication;
+import io.github.aosn.mosaic.domain.model.auth.User;
+import lombok.*;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * Voter entity, one row per user who voted to a poll.
+ * <p>The row is inserted before the {@link Vote}s of the user, so that the unique constraint on
+ * (poll, user) rejects the second ballot of the user even if it is submitted concurrently.</p>
+ *
+ * @author mikan
+ * @since 0.7
+ */
+@Entity
+@Table(name = "voters",
+        uniqueConstraints = @UniqueConstraint(name = "uk_voters_poll_user", columnNames = {"poll_id", "user_id"}))
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(exclude = "poll")
+public class Voter implements Serializable {
+
+    private static final long serialVersionUID = MosaicApplication.MOSAIC_SERIAL_VERSION_UID;
+
+    @Id
+    @Column
+    @GeneratedValue
+    private Long id;
+
+    @JoinColumn(nullable = false)
+    @ManyToOne
+    @Getter
+    private Poll poll;
+
+    @JoinColumn(nullable = false)
+    @ManyToOne
+    @Getter
+    private User user;
+
+    @Column(nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    @Getter
+    private Date date;
+
+    /**
+     * Construct a voter voted now.
+     *
+     * @param poll poll
+     * @param user user
+     * @return voter
+     */
+    public static Voter create(Poll poll, User user) {
+        return new Voter(null, poll, user, new Date());
+    }
+}
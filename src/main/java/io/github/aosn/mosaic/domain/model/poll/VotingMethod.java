@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.model.poll;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * How ballots of a poll are counted.
+ * <p>Every method breaks ties deterministically. Ranked methods prefer the book with more first choices, then all
+ * methods prefer the earlier proposal (smaller issue number). See {@link Ranking}.</p>
+ * <p>NOTE: Stored by ordinal, never reorder the constants.</p>
+ *
+ * @author mikan
+ * @since 0.7
+ */
+public enum VotingMethod {
+
+    /**
+     * Select exactly {@code doubles} books, one point per book. The default and only method before 0.7.
+     */
+    PLURALITY(false) {
+        @Override
+        public int minSelections(int doubles) {
+            return doubles;
+        }
+
+        @Override
+        Ranking rank(List<Book> books, int doubles, Ballots ballots) {
+            var counts = countChoices(ballots);
+            return new Ranking(books, counts, counts);
+        }
+    },
+
+    /**
+     * Select one to {@code doubles} books, one point per book.
+     */
+    APPROVAL(false) {
+        @Override
+        Ranking rank(List<Book> books, int doubles, Ballots ballots) {
+            var counts = countChoices(ballots);
+            return new Ranking(books, counts, counts);
+        }
+    },
+
+    /**
+     * Rank one to {@code doubles} books, {@code doubles} points for the first choice, one less for each
+     * following choice.
+     */
+    BORDA(true) {
+        @Override
+        Ranking rank(List<Book> books, int doubles, Ballots ballots) {
+            var points = new int[ballots.getBookCount()];
+            for (var b = 0; b < ballots.size(); b++) {
+                for (var p = ballots.begin(b); p < ballots.end(b); p++) {
+                    points[ballots.choice(p)] += Math.max(1, doubles - (p - ballots.begin(b)));
+                }
+            }
+            return new Ranking(books, points, points, ballots.countFirstChoices());
+        }
+    },
+
+    /**
+     * Rank one to {@code doubles} books. The book with the fewest votes is eliminated and its ballots are
+     * transferred to their next choices, until a book has the majority of the remaining ballots.
+     */
+    INSTANT_RUNOFF(true) {
+        @Override
+        Ranking rank(List<Book> books, int doubles, Ballots ballots) {
+            var bookCount = ballots.getBookCount();
+            var firsts = ballots.countFirstChoices();
+            var eliminated = new boolean[bookCount];
+            var survived = new int[bookCount]; // number of rounds survived
+            var lastVotes = new int[bookCount]; // votes in the last counted round
+            var counts = new int[bookCount];
+            var current = new int[ballots.size()]; // position of the current choice of each ballot
+            for (var b = 0; b < ballots.size(); b++) {
+                current[b] = ballots.begin(b);
+            }
+            var remaining = bookCount;
+            for (var round = 1; remaining > 0; round++) {
+                // count current choices, skipping eliminated books
+                Arrays.fill(counts, 0);
+                var active = 0;
+                for (var b = 0; b < ballots.size(); b++) {
+                    var p = current[b];
+                    while (p < ballots.end(b) && eliminated[ballots.choice(p)]) {
+                        p++;
+                    }
+                    current[b] = p;
+                    if (p < ballots.end(b)) {
+                        counts[ballots.choice(p)]++;
+                        active++;
+                    }
+                }
+                var leader = -1;
+                var loser = -1;
+                for (var i = 0; i < bookCount; i++) {
+                    if (eliminated[i]) {
+                        continue;
+                    }
+                    survived[i] = round;
+                    lastVotes[i] = counts[i];
+                    if (leader < 0 || counts[i] > counts[leader]) {
+                        leader = i;
+                    }
+                    if (loser < 0 || isWeaker(books, counts, firsts, i, loser)) {
+                        loser = i;
+                    }
+                }
+                if (counts[leader] * 2 > active || remaining == 1 || active == 0) {
+                    break; // majority, last book, or no ballots left to transfer
+                }
+                if (counts[loser] == 0) {
+                    // eliminate all books without votes at once
+                    for (var i = 0; i < bookCount; i++) {
+                        if (!eliminated[i] && counts[i] == 0 && remaining > 1) {
+                            eliminated[i] = true;
+                            remaining--;
+                        }
+                    }
+                } else {
+                    eliminated[loser] = true;
+                    remaining--;
+                }
+            }
+            return new Ranking(books, lastVotes, survived, lastVotes, firsts);
+        }
+
+        private boolean isWeaker(List<Book> books, int[] counts, int[] firsts, int a, int b) {
+            if (counts[a] != counts[b]) {
+                return counts[a] < counts[b];
+            }
+            if (firsts[a] != firsts[b]) {
+                return firsts[a] < firsts[b];
+            }
+            // the later proposal is eliminated first
+            var issueA = books.get(a).getIssue();
+            var issueB = books.get(b).getIssue();
+            return issueA != null && issueB != null ? issueA > issueB : a > b;
+        }
+    };
+
+    private final boolean ranked;
+
+    VotingMethod(boolean ranked) {
+        this.ranked = ranked;
+    }
+
+    /**
+     * Either the order of choices is significant or not.
+     * <p>Unranked methods are counted from the tallies, ranked methods require all votes.</p>
+     *
+     * @return {@code true} if choices are ranked by voters
+     */
+    public boolean isRanked() {
+        return ranked;
+    }
+
+    /**
+     * Get minimum number of books to select.
+     *
+     * @param doubles maximum number of books to select
+     * @return minimum number of books to select
+     */
+    public int minSelections(int doubles) {
+        return 1;
+    }
+
+    /**
+     * Rank the books by the ballots.
+     *
+     * @param books   books of the poll
+     * @param doubles maximum number of books to select
+     * @param ballots ballots of the poll
+     * @return ranking
+     */
+    abstract Ranking rank(List<Book> books, int doubles, Ballots ballots);
+
+    private static int[] countChoices(Ballots ballots) {
+        var counts = new int[ballots.getBookCount()];
+        for (var b = 0; b < ballots.size(); b++) {
+            for (var p = ballots.begin(b); p < ballots.end(b); p++) {
+                counts[ballots.choice(p)]++;
+            }
+        }
+        return counts;
+    }
+}
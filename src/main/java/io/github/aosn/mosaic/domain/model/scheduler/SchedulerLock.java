@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.model.scheduler;
+
+import io.github.aosn.mosaic.MosaicApplication;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * Lock row of a scheduled job, so that only one application instance runs the job at a time.
+ * <p>The lock is acquired by a conditional update of {@link #lockedUntil}, and released by expiration. See
+ * {@link io.github.aosn.mosaic.domain.repository.scheduler.SchedulerLockRepository#acquire}.</p>
+ *
+ * @author mikan
+ * @since 0.7
+ */
+@Entity
+@Table(name = "scheduler_locks")
+@NoArgsConstructor
+@ToString
+public class SchedulerLock implements Serializable {
+
+    private static final long serialVersionUID = MosaicApplication.MOSAIC_SERIAL_VERSION_UID;
+
+    @Id
+    @Column(length = 64)
+    @Getter
+    private String name;
+
+    @Column(nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    @Getter
+    private Date lockedUntil;
+
+    @Column(length = 100)
+    @Getter
+    private String lockedBy;
+
+    /**
+     * Construct an unlocked row.
+     *
+     * @param name job name
+     * @return lock
+     */
+    public static SchedulerLock create(String name) {
+        var lock = new SchedulerLock();
+        lock.name = name;
+        lock.lockedUntil = new Date(0);
+        return lock;
+    }
+}
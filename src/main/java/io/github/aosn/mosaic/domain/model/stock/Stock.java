@@ -25,7 +25,9 @@ import java.util.List;
  * @since 0.3
  */
 @Entity
-@Table(name = "stocks")
+@Table(name = "stocks", indexes = {
+        @Index(name = "idx_stocks_user", columnList = "user_id"),
+        @Index(name = "idx_stocks_isbn", columnList = "isbn")})
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -33,6 +35,11 @@ public class Stock implements ReleasedBook {
 
     private static final long serialVersionUID = MosaicApplication.MOSAIC_SERIAL_VERSION_UID;
 
+    /**
+     * Maximum length of the texts in bytes, mediumblob on MySQL.
+     */
+    private static final int TEXT_LENGTH = 16_777_215;
+
     @Id
     @Column
     @GeneratedValue
@@ -103,17 +110,21 @@ public class Stock implements ReleasedBook {
     @Setter
     private String boughtPlace;
 
-    @Column
-    @Convert(converter = BlogStringConverter.class)
-    @Getter
-    @Setter
-    private String shortText;
+    /**
+     * Comment, stored as UTF-8 bytes.
+     *
+     * @see #getShortText()
+     */
+    @Column(length = TEXT_LENGTH)
+    private byte[] shortText;
 
-    @Column
-    @Convert(converter = BlogStringConverter.class)
-    @Getter
-    @Setter
-    private String longText;
+    /**
+     * Review, stored as UTF-8 bytes.
+     *
+     * @see #getLongText()
+     */
+    @Column(length = TEXT_LENGTH)
+    private byte[] longText;
 
     @Column(nullable = false, length = 200)
     @Getter
@@ -174,8 +185,8 @@ public class Stock implements ReleasedBook {
         stock.progress = 0;
         stock.obtainType = ObtainType.BUY;
         stock.mediaType = book.isEBook() ? MediaType.OTHER : MediaType.PAPER;
-        stock.shortText = "";
-        stock.longText = "";
+        stock.shortText = new byte[0];
+        stock.longText = new byte[0];
         stock.createdTime = now;
         stock.updatedTime = now;
         return stock;
@@ -247,6 +258,22 @@ public class Stock implements ReleasedBook {
         return progress;
     }
 
+    public String getShortText() {
+        return decode(shortText);
+    }
+
+    public void setShortText(@Nullable String shortText) {
+        this.shortText = encode(shortText);
+    }
+
+    public String getLongText() {
+        return decode(longText);
+    }
+
+    public void setLongText(@Nullable String longText) {
+        this.longText = encode(longText);
+    }
+
     /**
      * Get obtain date as {@link LocalDate}.
      *
@@ -375,20 +402,11 @@ public class Stock implements ReleasedBook {
         KINDLE
     }
 
-    @Converter
-    public static class BlogStringConverter implements AttributeConverter<String, byte[]> {
-
-        @Override
-        public byte[] convertToDatabaseColumn(@Nullable String attribute) {
-            if (attribute == null) {
-                attribute = "";
-            }
-            return attribute.getBytes(StandardCharsets.UTF_8);
-        }
+    private static byte[] encode(@Nullable String text) {
+        return Strings.nullToEmpty(text).getBytes(StandardCharsets.UTF_8);
+    }
 
-        @Override
-        public String convertToEntityAttribute(byte[] dbData) {
-            return new String(dbData, StandardCharsets.UTF_8);
-        }
+    private static String decode(@Nullable byte[] bytes) {
+        return bytes == null ? "" : new String(bytes, StandardCharsets.UTF_8);
     }
 }
@@ -5,8 +5,12 @@ package io.github.aosn.mosaic.domain.repository.auth;
 
 import io.github.aosn.mosaic.domain.model.auth.GitHubOrganization;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.oauth2.client.OAuth2RestTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.web.client.RestTemplate;
 
 import java.util.Arrays;
 import java.util.List;
@@ -22,6 +26,11 @@ import java.util.List;
 public class GitHubOrganizationRepository {
 
     private static final String RESOURCE_PATH = "https://api.github.com/user/orgs";
+    private final RestTemplate restTemplate;
+
+    public GitHubOrganizationRepository(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
 
     /**
      * Get all joined organizations.
@@ -37,4 +46,24 @@ public class GitHubOrganizationRepository {
         }
         return Arrays.asList(entity.getBody());
     }
+
+    /**
+     * Get all joined organizations with the access token, available out of the user's request.
+     *
+     * @param accessToken OAuth2 access token of the user
+     * @return {@link List} of {@link GitHubOrganization}s
+     * @since 0.7
+     */
+    public List<GitHubOrganization> getAll(String accessToken) {
+        log.info("GET " + RESOURCE_PATH);
+        var headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken);
+        var entity = restTemplate.exchange(RESOURCE_PATH, HttpMethod.GET, new HttpEntity<>(headers),
+                GitHubOrganization[].class);
+        if (!entity.getStatusCode().is2xxSuccessful() || entity.getBody() == null) {
+            log.error("GitHub error: " + entity.getStatusCodeValue());
+            throw new RuntimeException("GitHub error: " + entity.getStatusCodeValue());
+        }
+        return Arrays.asList(entity.getBody());
+    }
 }
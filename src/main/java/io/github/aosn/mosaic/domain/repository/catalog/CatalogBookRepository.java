@@ -0,0 +1,21 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.repository.catalog;
+
+import io.github.aosn.mosaic.domain.model.catalog.CatalogBook;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository of {@link CatalogBook} entity.
+ *
+ * @author mikan
+ * @see JpaRepository
+ * @see DataAccessException
+ * @since 0.7
+ */
+@Repository
+public interface CatalogBookRepository extends JpaRepository<CatalogBook, String> {
+}
@@ -3,16 +3,28 @@
  */
 package io.github.aosn.mosaic.domain.repository.issue;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.github.aosn.mosaic.domain.model.issue.GitHubIssue;
 import io.github.aosn.mosaic.domain.model.poll.Group;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Repository;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.Arrays;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Repository of {@link GitHubIssue} entity.
@@ -25,47 +37,100 @@ import java.util.Map;
 public class GitHubIssueRepository {
 
     private enum Param {
-        OWNER, REPO, STATE, PAGE
+        OWNER, REPO, STATE, PAGE, NUMBER
     }
 
+    private static final int PER_PAGE = 100; // maximum of GitHub API
+    private static final Pattern LAST_PAGE_LINK = Pattern.compile("<[^>]*[?&]page=(\\d+)[^>]*>;\\s*rel=\"last\"");
     private static final String RESOURCE_PATH = "https://api.github.com/repos/" +
             "{" + Param.OWNER + "}/{" + Param.REPO + "}/issues?" +
             "state={" + Param.STATE + "}" +
+            "&sort=updated&direction=desc&per_page=" + PER_PAGE +
             "&page={" + Param.PAGE + "}";
+    private static final String ISSUE_RESOURCE_PATH = "https://api.github.com/repos/" +
+            "{" + Param.OWNER + "}/{" + Param.REPO + "}/issues/{" + Param.NUMBER + "}";
     private static final String NEW_ISSUE_PAGE = "https://github.com/" +
             "{" + Param.OWNER + "}/{" +
             Param.REPO + "}/issues/new";
     private final RestTemplate restTemplate;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private ExecutorService executor;
+
+    @Value("${mosaic.github.concurrency:4}")
+    private int concurrency;
 
     public GitHubIssueRepository(RestTemplate restTemplate) {
         this.restTemplate = restTemplate;
     }
 
-    /**
-     * Get all issues.
-     *
-     * @return {@link List} of {@link GitHubIssue}s
-     */
-    public List<GitHubIssue> getAll(Group group) {
-        return getWithState(group, State.ALL);
+    @PostConstruct
+    private void init() {
+        var threadFactory = new ThreadFactoryBuilder().setNameFormat("mosaic-github-%d").setDaemon(true).build();
+        executor = Executors.newFixedThreadPool(concurrency, threadFactory);
+    }
+
+    @PreDestroy
+    private void destroy() {
+        executor.shutdownNow();
     }
 
     /**
      * Get issues with specified state.
+     * <p>The last result is kept per group and state. Issues are listed in order of update, so the first page
+     * changes whenever any issue is updated; the snapshot is revalidated by a conditional request of the first
+     * page ({@code If-None-Match} or {@code If-Modified-Since}) and reused if GitHub answers 304. Otherwise the
+     * remaining pages, known from the {@code Link} header of the first page, are requested in parallel.</p>
      *
      * @param state {@link State} target issue state
-     * @return {@link List} of {@link GitHubIssue}s
+     * @return unmodifiable {@link List} of {@link GitHubIssue}s, newest number first
      */
     public List<GitHubIssue> getWithState(Group group, State state) {
-        var overall = new LinkedList<GitHubIssue>();
-        for (int page = 1; ; page++) { // Retrieves all page
-            var part = retrievePage(group, state, page);
-            if (part.length == 0) {
-                break;
-            }
-            overall.addAll(Arrays.asList(part));
+        var key = group.getOrganization() + "/" + group.getRepository() + "?state=" + state.stateValue;
+        var snapshot = snapshots.get(key);
+        var first = retrievePage(group, state, 1, snapshot);
+        if (snapshot != null && first.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            log.info("Not modified: " + key);
+            return snapshot.issues;
         }
-        return overall;
+        var lastPage = parseLastPage(first.getHeaders().getFirst("Link"));
+        var pages = IntStream.rangeClosed(2, lastPage)
+                .mapToObj(page -> CompletableFuture.supplyAsync(() ->
+                        retrievePage(group, state, page, null).getBody(), executor))
+                .collect(Collectors.toList());
+        var overall = new ArrayList<GitHubIssue>(lastPage * PER_PAGE);
+        var numbers = new HashSet<Long>(lastPage * PER_PAGE * 2);
+        Stream.concat(Stream.<GitHubIssue[]>of(first.getBody()), pages.stream().map(GitHubIssueRepository::join))
+                .flatMap(Stream::of)
+                .filter(i -> numbers.add(i.getId())) // may be shifted to the next page while retrieving
+                .forEach(overall::add);
+        overall.sort(Comparator.comparing(GitHubIssue::getId).reversed());
+        var issues = Collections.unmodifiableList(overall);
+        snapshots.put(key, new Snapshot(first.getHeaders().getETag(), first.getHeaders().getLastModified(), issues));
+        return issues;
+    }
+
+    /**
+     * Get issues by numbers.
+     * <p>Each issue is requested in parallel (at most {@code mosaic.github.concurrency} requests at a time) and
+     * revalidated by a conditional request if it was retrieved before.</p>
+     *
+     * @param group   group
+     * @param numbers issue numbers
+     * @return {@link Map} of issue number and {@link GitHubIssue}, missing issues are not contained
+     * @since 0.7
+     */
+    public Map<Long, GitHubIssue> getByNumbers(Group group, Collection<Long> numbers) {
+        var futures = new HashMap<Long, CompletableFuture<GitHubIssue>>();
+        numbers.forEach(n -> futures.computeIfAbsent(n, k ->
+                CompletableFuture.supplyAsync(() -> retrieveIssue(group, k), executor)));
+        var issues = new HashMap<Long, GitHubIssue>(futures.size() * 2);
+        futures.forEach((number, future) -> {
+            var issue = join(future);
+            if (issue != null) {
+                issues.put(number, issue);
+            }
+        });
+        return issues;
     }
 
     public String getNewIssueUrl(Group group) {
@@ -75,8 +140,7 @@ public class GitHubIssueRepository {
 
     public enum State {
         OPEN("open"),
-        CLOSED("closed"),
-        ALL("all");
+        CLOSED("closed");
 
         private final String stateValue;
 
@@ -85,18 +149,96 @@ public class GitHubIssueRepository {
         }
     }
 
-    private GitHubIssue[] retrievePage(Group group, State state, int page) {
+    private ResponseEntity<GitHubIssue[]> retrievePage(Group group, State state, int page, Snapshot snapshot) {
         var params = Map.of(
                 Param.OWNER.name(), group.getOrganization(),
                 Param.REPO.name(), group.getRepository(),
                 Param.STATE.name(), state.stateValue,
                 Param.PAGE.name(), Integer.toString(page));
         log.info("GET " + restTemplate.getUriTemplateHandler().expand(RESOURCE_PATH, params));
-        var entity = restTemplate.getForEntity(RESOURCE_PATH, GitHubIssue[].class, params);
-        if (!entity.getStatusCode().is2xxSuccessful()) {
+        var headers = new HttpHeaders();
+        if (snapshot != null && snapshot.etag != null) {
+            headers.setIfNoneMatch(snapshot.etag);
+        } else if (snapshot != null && snapshot.lastModified >= 0) {
+            headers.setIfModifiedSince(snapshot.lastModified);
+        }
+        var entity = restTemplate.exchange(RESOURCE_PATH, HttpMethod.GET, new HttpEntity<>(headers),
+                GitHubIssue[].class, params);
+        if (entity.getStatusCode() == HttpStatus.NOT_MODIFIED && snapshot != null) {
+            return entity;
+        }
+        if (!entity.getStatusCode().is2xxSuccessful() || entity.getBody() == null) {
+            log.error("GitHub error: " + entity.getStatusCodeValue());
+            throw new RuntimeException("GitHub error: " + entity.getStatusCodeValue());
+        }
+        return entity;
+    }
+
+    private static int parseLastPage(String link) {
+        if (link == null) {
+            return 1; // single page
+        }
+        var matcher = LAST_PAGE_LINK.matcher(link);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : 1;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    private GitHubIssue retrieveIssue(Group group, Long number) {
+        var params = Map.of(
+                Param.OWNER.name(), group.getOrganization(),
+                Param.REPO.name(), group.getRepository(),
+                Param.NUMBER.name(), Long.toString(number));
+        var key = group.getOrganization() + "/" + group.getRepository() + "#" + number;
+        var snapshot = snapshots.get(key);
+        var headers = new HttpHeaders();
+        if (snapshot != null && snapshot.etag != null) {
+            headers.setIfNoneMatch(snapshot.etag);
+        }
+        log.info("GET " + restTemplate.getUriTemplateHandler().expand(ISSUE_RESOURCE_PATH, params));
+        ResponseEntity<GitHubIssue> entity;
+        try {
+            entity = restTemplate.exchange(ISSUE_RESOURCE_PATH, HttpMethod.GET, new HttpEntity<>(headers),
+                    GitHubIssue.class, params);
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode() == HttpStatus.NOT_FOUND || e.getStatusCode() == HttpStatus.GONE) {
+                log.warn("GitHub issue not found: " + key);
+                return null;
+            }
+            throw e;
+        }
+        if (entity.getStatusCode() == HttpStatus.NOT_MODIFIED && snapshot != null) {
+            return snapshot.issues.get(0);
+        }
+        if (!entity.getStatusCode().is2xxSuccessful() || entity.getBody() == null) {
             log.error("GitHub error: " + entity.getStatusCodeValue());
             throw new RuntimeException("GitHub error: " + entity.getStatusCodeValue());
         }
+        snapshots.put(key, new Snapshot(entity.getHeaders().getETag(), entity.getHeaders().getLastModified(),
+                List.of(entity.getBody())));
         return entity.getBody();
     }
+
+    /**
+     * Last result of {@link #getWithState(Group, State)} or {@link #getByNumbers(Group, Collection)} and its
+     * validators.
+     */
+    private static class Snapshot {
+
+        private final String etag;
+        private final long lastModified; // -1 if absent
+        private final List<GitHubIssue> issues;
+
+        private Snapshot(String etag, long lastModified, List<GitHubIssue> issues) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.issues = issues;
+        }
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.repository.notification;
+
+import io.github.aosn.mosaic.domain.model.notification.OutboxMessage;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Repository of {@link OutboxMessage} entity.
+ *
+ * @author mikan
+ * @see JpaRepository
+ * @see DataAccessException
+ * @since 0.7
+ */
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Find messages to be sent, oldest first.
+     *
+     * @param state state, always {@link OutboxMessage.State#PENDING}
+     * @param now   current time
+     * @return {@link List} of {@link OutboxMessage}s, at most 50 messages
+     */
+    List<OutboxMessage> findFirst50ByStateAndNextAttemptBeforeOrderByNextAttemptAsc(OutboxMessage.State state,
+                                                                                    Date now);
+
+    /**
+     * Claim a message by postponing its next attempt, so that other senders skip it while sending.
+     *
+     * @param id    message id
+     * @param state state, always {@link OutboxMessage.State#PENDING}
+     * @param now   current time
+     * @param lease time of the next attempt if the sender died while sending
+     * @return 1 if claimed, 0 if already sent or claimed by other sender
+     */
+    @Modifying
+    @Transactional
+    @Query("update OutboxMessage m set m.nextAttempt = :lease " +
+            "where m.id = :id and m.state = :state and m.nextAttempt <= :now")
+    int claim(@Param("id") Long id, @Param("state") OutboxMessage.State state, @Param("now") Date now,
+              @Param("lease") Date lease);
+
+    /**
+     * Find digest entries, oldest first.
+     *
+     * @param state state, always {@link OutboxMessage.State#PENDING}
+     * @return {@link List} of {@link OutboxMessage}s
+     * @since 0.7
+     */
+    List<OutboxMessage> findByStateAndDigestEventNotNullOrderByIdAsc(OutboxMessage.State state);
+
+    /**
+     * Claim a digest entry to merge, unless other sender claimed it after it was read.
+     *
+     * @param id          message id
+     * @param state       state, always {@link OutboxMessage.State#PENDING}
+     * @param nextAttempt time of the next attempt as read
+     * @param lease       time of the next attempt if the sender died while sending
+     * @return 1 if claimed, 0 if already sent or claimed by other sender
+     * @since 0.7
+     */
+    @Modifying
+    @Transactional
+    @Query("update OutboxMessage m set m.nextAttempt = :lease " +
+            "where m.id = :id and m.state = :state and m.nextAttempt = :nextAttempt")
+    int claimDigest(@Param("id") Long id, @Param("state") OutboxMessage.State state,
+                    @Param("nextAttempt") Date nextAttempt, @Param("lease") Date lease);
+
+    long countByState(OutboxMessage.State state);
+
+    /**
+     * Delete messages sent before the specified time.
+     *
+     * @param time time
+     * @return number of deleted messages
+     */
+    @Transactional
+    long deleteBySentTimeBefore(Date time);
+}
@@ -22,11 +22,17 @@ import java.io.IOException;
 public class SlackRepository {
 
     private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+    private final OkHttpClient client;
+
+    public SlackRepository(OkHttpClient client) {
+        this.client = client;
+    }
 
     /**
      * Post a message to slack.
      *
      * @param message message
+     * @throws RuntimeException if failed to send or Slack returns error
      */
     public void post(String url, SlackMessage message) {
         String json;
@@ -38,13 +44,12 @@ public class SlackRepository {
             throw new RuntimeException(msg, e);
         }
         log.info("POST " + url + " params: " + message);
-        var client = new OkHttpClient();
         var body = RequestBody.create(JSON, json);
         var request = new Request.Builder().url(url).post(body).build();
-        try {
-            var response = client.newCall(request).execute();
+        try (var response = client.newCall(request).execute()) {
             if (!response.isSuccessful()) {
                 log.error("Slack: " + response.code() + " " + response.message());
+                throw new RuntimeException("Slack error: " + response.code());
             }
         } catch (IOException e) {
             var msg = "Failed to send slack message";
@@ -3,10 +3,20 @@
  */
 package io.github.aosn.mosaic.domain.repository.poll;
 
+import io.github.aosn.mosaic.domain.model.auth.User;
 import io.github.aosn.mosaic.domain.model.poll.Poll;
+import io.github.aosn.mosaic.domain.model.poll.PollSummary;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
 
 /**
  * Repository of {@link Poll} entity.
@@ -18,4 +28,108 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface PollRepository extends JpaRepository<Poll, Long> {
+
+    String SELECT_SUMMARY = "select new io.github.aosn.mosaic.domain.model.poll.PollSummary(" +
+            "p.id, p.subject, p.state, p.begin, p.end, p.voterCount, p.owner, " +
+            "(select count(v) from Vote v where v.poll = p and v.user = :user)) from Poll p ";
+
+    /**
+     * Find summaries of the first page, newest first.
+     *
+     * @param user     current user to check voted or not, or {@code null}
+     * @param state    state of polls
+     * @param pageable page size, always first page
+     * @return {@link List} of {@link PollSummary}s
+     * @since 0.7
+     */
+    @Query(SELECT_SUMMARY + "where p.state = :state order by p.begin desc, p.id desc")
+    List<PollSummary> findSummaries(@Param("user") User user, @Param("state") Poll.PollState state,
+                                    Pageable pageable);
+
+    /**
+     * Find summaries of the page following the specified poll, newest first (keyset pagination).
+     *
+     * @param user     current user to check voted or not, or {@code null}
+     * @param state    state of polls
+     * @param begin    begin of the last poll of the previous page
+     * @param id       id of the last poll of the previous page
+     * @param pageable page size, always first page
+     * @return {@link List} of {@link PollSummary}s
+     * @since 0.7
+     */
+    @Query(SELECT_SUMMARY + "where p.state = :state and (p.begin < :begin or (p.begin = :begin and p.id < :id)) " +
+            "order by p.begin desc, p.id desc")
+    List<PollSummary> findSummariesAfter(@Param("user") User user, @Param("state") Poll.PollState state,
+                                         @Param("begin") Date begin, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Count polls by state.
+     *
+     * @param state state of polls
+     * @return number of polls
+     * @since 0.7
+     */
+    long countByState(Poll.PollState state);
+
+    /**
+     * Find polls by state.
+     *
+     * @param state state of polls
+     * @return {@link List} of {@link Poll}s
+     * @since 0.7
+     */
+    List<Poll> findByState(Poll.PollState state);
+
+    /**
+     * Find polls of which end is before the date, ordered by end.
+     *
+     * @param state    state of polls
+     * @param date     date
+     * @param pageable page size, always first page
+     * @return {@link List} of {@link Poll}s
+     * @since 0.7
+     */
+    @Query("select p from Poll p where p.state = :state and p.end < :date order by p.end, p.id")
+    List<Poll> findEndedBefore(@Param("state") Poll.PollState state, @Param("date") Date date, Pageable pageable);
+
+    /**
+     * Find polls of which end is before the date, following the specified poll (keyset pagination).
+     *
+     * @param state    state of polls
+     * @param date     date
+     * @param end      end of the last poll of the previous page
+     * @param id       id of the last poll of the previous page
+     * @param pageable page size, always first page
+     * @return {@link List} of {@link Poll}s
+     * @since 0.7
+     */
+    @Query("select p from Poll p where p.state = :state and p.end < :date " +
+            "and (p.end > :end or (p.end = :end and p.id > :id)) order by p.end, p.id")
+    List<Poll> findEndedBeforeAfter(@Param("state") Poll.PollState state, @Param("date") Date date,
+                                    @Param("end") Date end, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Increment number of voters in place.
+     *
+     * @param id     poll id
+     * @param amount number of voters to add
+     * @return number of updated rows
+     * @since 0.7
+     */
+    @Modifying
+    @Transactional
+    @Query("update Poll p set p.voterCount = p.voterCount + :amount where p.id = :id")
+    int incrementVoterCount(@Param("id") Long id, @Param("amount") int amount);
+
+    /**
+     * Find number of voters.
+     * <p>Called after {@link #incrementVoterCount(Long, int)} in the same transaction, it returns the number
+     * including the increment, since the row stays locked until commit.</p>
+     *
+     * @param id poll id
+     * @return number of voters, or {@code null} if the poll is not counted yet
+     * @since 0.7
+     */
+    @Query("select p.voterCount from Poll p where p.id = :id")
+    Integer findVoterCount(@Param("id") Long id);
 }
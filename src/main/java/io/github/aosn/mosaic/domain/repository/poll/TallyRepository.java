@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.repository.poll;
+
+import io.github.aosn.mosaic.domain.model.poll.Book;
+import io.github.aosn.mosaic.domain.model.poll.Poll;
+import io.github.aosn.mosaic.domain.model.poll.Tally;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Repository of {@link Tally} entity.
+ *
+ * @author mikan
+ * @see JpaRepository
+ * @see DataAccessException
+ * @since 0.7
+ */
+@Repository
+public interface TallyRepository extends JpaRepository<Tally, Long> {
+
+    List<Tally> findByPoll(Poll poll);
+
+    /**
+     * Increment the counter of the book in place.
+     *
+     * @param poll   poll
+     * @param book   book
+     * @param amount number of votes to add
+     * @return number of updated rows, zero if the tally row is missing
+     */
+    @Modifying
+    @Transactional
+    @Query("update Tally t set t.votes = t.votes + :amount where t.poll = :poll and t.book = :book")
+    int increment(@Param("poll") Poll poll, @Param("book") Book book, @Param("amount") int amount);
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.repository.scheduler;
+
+import io.github.aosn.mosaic.domain.model.scheduler.SchedulerLock;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+
+/**
+ * Repository of {@link SchedulerLock} entity.
+ *
+ * @author mikan
+ * @see JpaRepository
+ * @see DataAccessException
+ * @since 0.7
+ */
+@Repository
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    /**
+     * Acquire or extend the lock.
+     *
+     * @param name  job name
+     * @param owner identifier of this instance
+     * @param now   current time
+     * @param until expiration of the lock
+     * @return 1 if acquired, 0 if locked by other instance or the row is missing
+     */
+    @Modifying
+    @Transactional
+    @Query("update SchedulerLock l set l.lockedUntil = :until, l.lockedBy = :owner " +
+            "where l.name = :name and (l.lockedUntil <= :now or l.lockedBy = :owner)")
+    int acquire(@Param("name") String name, @Param("owner") String owner, @Param("now") Date now,
+                @Param("until") Date until);
+
+    /**
+     * Release the lock if owned.
+     *
+     * @param name  job name
+     * @param owner identifier of this instance
+     * @param now   current time
+     * @return 1 if released, 0 otherwise
+     */
+    @Modifying
+    @Transactional
+    @Query("update SchedulerLock l set l.lockedUntil = :now where l.name = :name and l.lockedBy = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") Date now);
+}
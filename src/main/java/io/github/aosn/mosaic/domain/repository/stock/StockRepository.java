@@ -17,4 +17,13 @@ import java.util.List;
 @Repository
 public interface StockRepository extends JpaRepository<Stock, Long> {
     List<Stock> findByUser(User user);
+
+    /**
+     * Find any stock of the book.
+     *
+     * @param isbn ISBN13
+     * @return stock, or {@code null} if nobody has the book
+     * @since 0.7
+     */
+    Stock findFirstByIsbn(String isbn);
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.service.auth;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.github.aosn.mosaic.domain.model.auth.Membership;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process {@link MembershipCache}, expires {@code ttl} milliseconds after written.
+ * <p>If the next tier is given, misses are read through and puts are written through to it, so that the
+ * memberships updated by the other instances are seen after the expiration.</p>
+ *
+ * @author mikan
+ * @since 0.7
+ */
+class LocalMembershipCache implements MembershipCache {
+
+    private final Cache<String, Membership> cache;
+    @Nullable
+    private final MembershipCache next;
+
+    LocalMembershipCache(long maximumSize, long ttl, @Nullable MembershipCache next) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl, TimeUnit.MILLISECONDS)
+                .build();
+        this.next = next;
+    }
+
+    @Override
+    public @Nullable Membership get(String userName) {
+        var membership = cache.getIfPresent(userName);
+        if (membership == null && next != null) {
+            membership = next.get(userName);
+            if (membership != null) {
+                cache.put(userName, membership);
+            }
+        }
+        return membership;
+    }
+
+    @Override
+    public void put(Membership membership) {
+        cache.put(membership.getUserName(), membership);
+        if (next != null) {
+            next.put(membership);
+        }
+    }
+}
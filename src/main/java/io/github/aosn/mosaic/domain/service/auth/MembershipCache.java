@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.service.auth;
+
+import io.github.aosn.mosaic.domain.model.auth.Membership;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Cache of {@link Membership}s.
+ *
+ * @author mikan
+ * @see LocalMembershipCache
+ * @see SharedMembershipCache
+ * @since 0.7
+ */
+interface MembershipCache {
+
+    /**
+     * Get the membership of the user.
+     *
+     * @param userName user name
+     * @return membership, or {@code null} if not cached
+     */
+    @Nullable
+    Membership get(String userName);
+
+    /**
+     * Put or replace the membership.
+     *
+     * @param membership membership
+     */
+    void put(Membership membership);
+}
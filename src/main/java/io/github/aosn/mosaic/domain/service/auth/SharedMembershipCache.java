@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.service.auth;
+
+import io.github.aosn.mosaic.domain.model.auth.Membership;
+import io.github.aosn.mosaic.domain.repository.auth.MembershipRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.dao.DataAccessException;
+
+/**
+ * {@link MembershipCache} stored in the database, shared by all application instances.
+ *
+ * @author mikan
+ * @since 0.7
+ */
+@Slf4j
+class SharedMembershipCache implements MembershipCache {
+
+    private final MembershipRepository membershipRepository;
+
+    SharedMembershipCache(MembershipRepository membershipRepository) {
+        this.membershipRepository = membershipRepository;
+    }
+
+    @Override
+    public @Nullable Membership get(String userName) {
+        try {
+            return membershipRepository.findOne(userName);
+        } catch (DataAccessException e) {
+            log.warn("Failed to read membership: " + userName, e);
+            return null;
+        }
+    }
+
+    @Override
+    public void put(Membership membership) {
+        try {
+            membershipRepository.save(membership);
+        } catch (DataAccessException e) {
+            log.warn("Failed to write membership: " + membership, e);
+        }
+    }
+}
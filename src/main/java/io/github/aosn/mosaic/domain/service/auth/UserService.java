@@ -4,21 +4,28 @@
 package io.github.aosn.mosaic.domain.service.auth;
 
 import io.github.aosn.mosaic.domain.model.auth.GitHubOrganization;
+import io.github.aosn.mosaic.domain.model.auth.Membership;
 import io.github.aosn.mosaic.domain.model.auth.User;
 import io.github.aosn.mosaic.domain.model.poll.Group;
 import io.github.aosn.mosaic.domain.repository.auth.GitHubOrganizationRepository;
+import io.github.aosn.mosaic.domain.repository.auth.MembershipRepository;
 import io.github.aosn.mosaic.domain.repository.auth.UserRepository;
 import io.github.aosn.mosaic.domain.repository.issue.GitHubIssueRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.OAuth2ClientContext;
 import org.springframework.security.oauth2.client.OAuth2RestTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import javax.annotation.PostConstruct;
 import java.security.Principal;
-import java.util.Collections;
 import java.util.Date;
-import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
@@ -32,17 +39,44 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private static final String ROLE_USER = "ROLE_USER";
+    private static final String REQUEST_USER_ATTRIBUTE = UserService.class.getName() + ".user:";
 
     private final UserRepository userRepository;
     private final GitHubIssueRepository issueRepository;
     private final GitHubOrganizationRepository groupRepository;
-    private static Map<String, Set<String>> userGroupCache = new ConcurrentHashMap<>(); // WARNING: instance-local
+    private final MembershipRepository membershipRepository;
+    private final OAuth2ClientContext oauth2ClientContext;
+    private final ThreadPoolTaskExecutor taskExecutor;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private MembershipCache membershipCache;
+
+    @Value("${mosaic.membership.shared:true}")
+    private boolean sharedMembership;
+
+    @Value("${mosaic.membership.size:10000}")
+    private int membershipCacheSize;
+
+    @Value("${mosaic.membership.ttl:300000}")
+    private long membershipTtl;
+
+    @Value("${mosaic.membership.refresh:3600000}")
+    private long membershipRefresh;
 
     public UserService(UserRepository userRepository, GitHubOrganizationRepository groupRepository,
-                       GitHubIssueRepository issueRepository) {
+                       GitHubIssueRepository issueRepository, MembershipRepository membershipRepository,
+                       OAuth2ClientContext oauth2ClientContext, ThreadPoolTaskExecutor taskExecutor) {
         this.userRepository = userRepository;
         this.groupRepository = groupRepository;
         this.issueRepository = issueRepository;
+        this.membershipRepository = membershipRepository;
+        this.oauth2ClientContext = oauth2ClientContext;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @PostConstruct
+    private void init() {
+        membershipCache = new LocalMembershipCache(membershipCacheSize, membershipTtl,
+                sharedMembership ? new SharedMembershipCache(membershipRepository) : null);
     }
 
     public void recordLogin(Principal principal, User.Source source, OAuth2RestTemplate restTemplate) {
@@ -59,6 +93,11 @@ public class UserService {
         user.setLastLogin(now);
         try {
             userRepository.saveAndFlush(user);
+            var attributes = RequestContextHolder.getRequestAttributes();
+            if (attributes != null) {
+                attributes.removeAttribute(REQUEST_USER_ATTRIBUTE + principal.getName(),
+                        RequestAttributes.SCOPE_REQUEST);
+            }
             cacheGroups(principal.getName(), restTemplate);
         } catch (RuntimeException e) {
             log.error("recordLogin: failed to persist.", e);
@@ -75,10 +114,30 @@ public class UserService {
         return SecurityContextHolder.getContext().getAuthentication().getName();
     }
 
+    /**
+     * Get the current user.
+     * <p>The resolved user is cached in the current request, so that views can call this repeatedly without
+     * querying the database each time. Out of the request (e.g. in background threads), it is always queried.</p>
+     *
+     * @return current user, or {@code null} if not found
+     */
     @Nullable
     public User getUser() {
         try {
-            return userRepository.findByNameAndSource(getName(), User.Source.GITHUB);
+            var name = getName();
+            var attributes = RequestContextHolder.getRequestAttributes();
+            if (attributes == null) {
+                return userRepository.findByNameAndSource(name, User.Source.GITHUB);
+            }
+            var key = REQUEST_USER_ATTRIBUTE + name;
+            var user = (User) attributes.getAttribute(key, RequestAttributes.SCOPE_REQUEST);
+            if (user == null) {
+                user = userRepository.findByNameAndSource(name, User.Source.GITHUB);
+                if (user != null) {
+                    attributes.setAttribute(key, user, RequestAttributes.SCOPE_REQUEST);
+                }
+            }
+            return user;
         } catch (RuntimeException e) {
             log.error("getUser failed.", e);
             return null;
@@ -118,7 +177,7 @@ public class UserService {
                     .map(GitHubOrganization::getOrganization)
                     .collect(Collectors.toSet());
             log.info("ORGS: user=" + userName + " orgs=" + String.join(",", groups));
-            userGroupCache.put(userName, groups);
+            membershipCache.put(Membership.create(userName, groups));
         } catch (RuntimeException e) {
             log.warn("ORGS: Cannot check membership", e);
         }
@@ -126,6 +185,9 @@ public class UserService {
 
     /**
      * Either group (= organization) member or not.
+     * <p>Memberships are recorded at login and shared between instances if {@code mosaic.membership.shared} is
+     * enabled. A membership older than {@code mosaic.membership.refresh} milliseconds is refreshed in background
+     * with the access token of the current user.</p>
      *
      * @param userName    user name
      * @param targetGroup target group
@@ -133,6 +195,42 @@ public class UserService {
      * @since 0.5
      */
     public boolean isMember(String userName, String targetGroup) {
-        return userGroupCache.getOrDefault(userName, Collections.emptySet()).contains(targetGroup);
+        var membership = membershipCache.get(userName);
+        if (membership == null || membership.isOlderThan(membershipRefresh)) {
+            refreshMembership(userName);
+        }
+        return membership != null && membership.contains(targetGroup);
+    }
+
+    private void refreshMembership(String userName) {
+        String accessToken;
+        try {
+            var token = oauth2ClientContext.getAccessToken();
+            if (token == null || !userName.equals(getName())) {
+                return;
+            }
+            accessToken = token.getValue();
+        } catch (RuntimeException e) {
+            return; // out of the user's session
+        }
+        if (!refreshing.add(userName)) {
+            return;
+        }
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    var groups = groupRepository.getAll(accessToken).stream()
+                            .map(GitHubOrganization::getOrganization)
+                            .collect(Collectors.toSet());
+                    membershipCache.put(Membership.create(userName, groups));
+                } catch (RuntimeException e) {
+                    log.warn("ORGS: Cannot refresh membership: " + userName, e);
+                } finally {
+                    refreshing.remove(userName);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            refreshing.remove(userName);
+        }
     }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.service.catalog;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.github.aosn.mosaic.domain.model.catalog.ReleasedBook;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded cache of catalog search results.
+ * <p>Results are kept for {@code ttl} minutes, and misses (empty results) are kept for {@code missTtl} minutes
+ * to avoid asking the catalog again and again for unknown books. Failures are never cached.</p>
+ * <p>Concurrent loads of the same key are coalesced: the first caller loads the result and the others wait for
+ * it, so that a burst of identical queries costs one request to the catalog.</p>
+ *
+ * @author mikan
+ * @see CatalogService
+ * @since 0.7
+ */
+class CatalogCache {
+
+    private final Cache<String, List<ReleasedBook>> hits;
+    private final Cache<String, Boolean> misses;
+    private final Map<String, CompletableFuture<List<ReleasedBook>>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a cache.
+     *
+     * @param maximumSize maximum number of results, for each of hits and misses
+     * @param ttl         expiration of hits in minutes
+     * @param missTtl     expiration of misses in minutes
+     */
+    CatalogCache(long maximumSize, long ttl, long missTtl) {
+        hits = CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl, TimeUnit.MINUTES).build();
+        misses = CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterWrite(missTtl, TimeUnit.MINUTES)
+                .build();
+    }
+
+    /**
+     * Get the cached result, or load and cache it.
+     *
+     * @param key    normalized query
+     * @param loader loads the result if not cached
+     * @return unmodifiable {@link List} of books
+     * @throws RuntimeException thrown by the loader, of this call or the coalesced call
+     */
+    List<ReleasedBook> get(String key, Supplier<List<ReleasedBook>> loader) {
+        var cached = getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        var future = new CompletableFuture<List<ReleasedBook>>();
+        var loading = inFlight.putIfAbsent(key, future);
+        if (loading != null) {
+            try {
+                return loading.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        try {
+            cached = getIfPresent(key); // loaded by the previous caller just before
+            var result = cached != null ? cached : List.copyOf(loader.get());
+            if (result.isEmpty()) {
+                misses.put(key, Boolean.TRUE);
+            } else {
+                hits.put(key, result);
+            }
+            future.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private List<ReleasedBook> getIfPresent(String key) {
+        var hit = hits.getIfPresent(key);
+        if (hit != null) {
+            return hit;
+        }
+        return misses.getIfPresent(key) != null ? List.of() : null;
+    }
+}
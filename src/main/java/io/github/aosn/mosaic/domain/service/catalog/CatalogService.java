@@ -3,17 +3,25 @@
  */
 package io.github.aosn.mosaic.domain.service.catalog;
 
+import io.github.aosn.mosaic.domain.model.catalog.CatalogBook;
 import io.github.aosn.mosaic.domain.model.catalog.ReleasedBook;
+import io.github.aosn.mosaic.domain.repository.catalog.CatalogBookRepository;
 import io.github.aosn.mosaic.domain.repository.catalog.GoogleBookRepository;
+import io.github.aosn.mosaic.domain.repository.stock.StockRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 
+import javax.annotation.PostConstruct;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 /**
  * Provides book catalog.
+ * <p>Search results are cached per ISBN and per keyword.</p>
  *
  * @author mikan
  * @since 0.3
@@ -23,16 +31,39 @@ import java.util.stream.Collectors;
 public class CatalogService {
 
     private final GoogleBookRepository googleBookRepository;
+    private final CatalogBookRepository catalogBookRepository;
+    private final StockRepository stockRepository;
+    private CatalogCache isbnCache;
+    private CatalogCache keywordCache;
 
-    public CatalogService(GoogleBookRepository googleBookRepository) {
+    @Value("${mosaic.catalog.cache.size:1000}")
+    private long cacheSize;
+
+    @Value("${mosaic.catalog.cache.ttl:60}")
+    private long cacheTtl;
+
+    @Value("${mosaic.catalog.cache.miss-ttl:5}")
+    private long cacheMissTtl;
+
+    public CatalogService(GoogleBookRepository googleBookRepository, CatalogBookRepository catalogBookRepository,
+                          StockRepository stockRepository) {
         this.googleBookRepository = googleBookRepository;
+        this.catalogBookRepository = catalogBookRepository;
+        this.stockRepository = stockRepository;
+    }
+
+    @PostConstruct
+    private void init() {
+        isbnCache = new CatalogCache(cacheSize, cacheTtl, cacheMissTtl);
+        keywordCache = new CatalogCache(cacheSize, cacheTtl, cacheMissTtl);
     }
 
     /**
      * Search the book catalog by ISBN.
+     * <p>The local catalog and the stocks are searched before Google.</p>
      *
      * @param isbn ISBN
-     * @return {@link List} of books, or empty if no match.
+     * @return unmodifiable {@link List} of books, or empty if no match.
      * @throws NullPointerException     if isbn is null
      * @throws IllegalArgumentException if isbn is empty
      * @throws HttpClientErrorException if the http error occurred
@@ -45,16 +76,46 @@ public class CatalogService {
         if (isbn.isEmpty()) {
             throw new IllegalArgumentException("isbn is empty.");
         }
+        return isbnCache.get(isbn, () -> findByIsbn(isbn));
+    }
+
+    private List<ReleasedBook> findByIsbn(String isbn) {
+        // Use local catalog
+        var local = catalogBookRepository.findOne(isbn);
+        if (local != null) {
+            return List.of(local);
+        }
+        // Use stocks of other users
+        var stock = stockRepository.findFirstByIsbn(isbn);
+        if (stock != null) {
+            var book = CatalogBook.create(stock);
+            store(List.of(book));
+            return List.of(book);
+        }
         // Use Google's repository
-        return googleBookRepository.getByIsbn(isbn).stream()
-                .map(b -> (ReleasedBook) b).collect(Collectors.toList());
+        var books = googleBookRepository.getByIsbn(isbn);
+        store(books.stream()
+                .filter(b -> isbn.equals(b.getIsbn()))
+                .limit(1)
+                .map(CatalogBook::create)
+                .collect(Collectors.toList()));
+        return books.stream().map(b -> (ReleasedBook) b).collect(Collectors.toList());
+    }
+
+    private void store(List<CatalogBook> books) {
+        try {
+            catalogBookRepository.save(books);
+        } catch (DataAccessException e) {
+            // the local catalog is optional, e.g. too long title or concurrently inserted
+            log.warn("Failed to store catalog: " + books, e);
+        }
     }
 
     /**
      * Search the book catalog by keyword.
      *
      * @param keyword keyword
-     * @return {@link List} of books, or empty if no match.
+     * @return unmodifiable {@link List} of books, or empty if no match.
      * @throws NullPointerException     if keyword is null
      * @throws IllegalArgumentException if keyword is empty
      * @throws HttpClientErrorException if the http error occurred
@@ -68,7 +129,8 @@ public class CatalogService {
             throw new IllegalArgumentException("keyword is empty.");
         }
         // Use Google's repository
-        return googleBookRepository.getByKeyword(keyword).stream()
-                .map(b -> (ReleasedBook) b).collect(Collectors.toList());
+        var key = keyword.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return keywordCache.get(key, () -> googleBookRepository.getByKeyword(keyword).stream()
+                .map(b -> (ReleasedBook) b).collect(Collectors.toList()));
     }
 }
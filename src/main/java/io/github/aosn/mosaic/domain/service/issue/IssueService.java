@@ -7,13 +7,23 @@ import com.google.common.base.Strings;
 import io.github.aosn.mosaic.MosaicApplication;
 import io.github.aosn.mosaic.domain.model.issue.GitHubIssue;
 import io.github.aosn.mosaic.domain.model.issue.GitHubLabel;
+import io.github.aosn.mosaic.domain.model.poll.Book;
 import io.github.aosn.mosaic.domain.model.poll.Group;
 import io.github.aosn.mosaic.domain.model.poll.Poll;
+import io.github.aosn.mosaic.domain.model.poll.Tally;
 import io.github.aosn.mosaic.domain.repository.issue.GitHubIssueRepository;
 import io.github.aosn.mosaic.domain.repository.issue.GitHubIssueRepository.State;
+import io.github.aosn.mosaic.domain.repository.poll.BookRepository;
+import io.github.aosn.mosaic.domain.repository.poll.PollRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -23,12 +33,23 @@ import java.util.stream.Stream;
  * @since 0.1
  */
 @Service
+@Slf4j
 public class IssueService {
 
     private final GitHubIssueRepository gitHubIssueRepository;
+    private final PollRepository pollRepository;
+    private final BookRepository bookRepository;
+    private final MarkdownRenderer markdownRenderer;
+    private final TransactionTemplate transactionTemplate;
 
-    public IssueService(GitHubIssueRepository gitHubIssueRepository) {
+    public IssueService(GitHubIssueRepository gitHubIssueRepository, PollRepository pollRepository,
+                        BookRepository bookRepository, MarkdownRenderer markdownRenderer,
+                        PlatformTransactionManager transactionManager) {
         this.gitHubIssueRepository = gitHubIssueRepository;
+        this.pollRepository = pollRepository;
+        this.bookRepository = bookRepository;
+        this.markdownRenderer = markdownRenderer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
@@ -48,25 +69,104 @@ public class IssueService {
         }
     }
 
+    /**
+     * Create a book of the issue with the snapshot of it.
+     *
+     * @param issue GitHub issue
+     * @return book, not persisted yet
+     * @since 0.7
+     */
+    public Book toBook(GitHubIssue issue) {
+        var book = Book.builder().issue(issue.getId()).url(issue.getUrl()).build();
+        book.updateIssue(issue, renderBody(issue));
+        return book;
+    }
+
     /**
      * Resolve GitHub issue by given book.
+     * <p>Books hold the snapshot of the issue since 0.7, so GitHub is requested only for the books created
+     * before it, then the snapshots are stored.</p>
      *
      * @param poll poll
      * @return resolved {@link Poll}
      * @throws NoSuchElementException if cannot resolved
      */
     public Poll resolveBooks(Poll poll) {
-        var issues = gitHubIssueRepository.getAll(poll.getGroup());
-        poll.getBooks().forEach(b -> {
-            b.setGitHubIssue(issues.stream()
-                    .filter(i -> i.getId().equals(b.getIssue()))
-                    .findFirst().orElseThrow(() -> new NoSuchElementException("Cannot resolved: #" + b.getIssue())));
-            b.setVotes(Math.toIntExact(poll.getVotes().stream()
-                    .filter(p -> b.equals(p.getBook())).count()));
-        });
+        var unresolved = poll.getBooks().stream()
+                .filter(b -> b.getGitHubIssue() == null)
+                .collect(Collectors.toList());
+        if (!unresolved.isEmpty()) {
+            updateIssues(unresolved, fetchIssues(poll.getGroup(), unresolved));
+            bookRepository.save(unresolved);
+        }
+        var votes = poll.getTallies().stream().collect(Collectors.toMap(Tally::getBook, Tally::getVotes));
+        poll.getBooks().forEach(b -> b.setVotes(votes.getOrDefault(b, 0)));
         return poll;
     }
 
+    /**
+     * Refresh the issue snapshots of the open polls.
+     * Closed polls are never refreshed, their results show the issues at the time of closing.
+     * <p>Issues are requested from GitHub out of transaction, so that no database connection is held while
+     * waiting for GitHub. Then the books of each poll are saved in a short transaction, either all or none of
+     * them.</p>
+     *
+     * @since 0.7
+     */
+    @Scheduled(initialDelayString = "${mosaic.issue.refresh:600000}",
+            fixedDelayString = "${mosaic.issue.refresh:600000}")
+    public void refreshOpenPolls() {
+        var polls = transactionTemplate.execute(status -> {
+            var open = pollRepository.findByState(Poll.PollState.OPEN);
+            open.forEach(p -> Hibernate.initialize(p.getBooks()));
+            return open;
+        });
+        polls.forEach(p -> {
+            try {
+                // books are detached, nothing is written until all issues are resolved
+                updateIssues(p.getBooks(), fetchIssues(p.getGroup(), p.getBooks()));
+                transactionTemplate.execute(status -> bookRepository.save(p.getBooks()));
+            } catch (RuntimeException e) {
+                log.warn("Failed to refresh issues: poll=" + p.getId(), e);
+            }
+        });
+    }
+
+    /**
+     * Get the issues of the books from GitHub.
+     *
+     * @return issues by number, containing all issues of the books
+     * @throws NoSuchElementException if any issue cannot be resolved
+     */
+    private Map<Long, GitHubIssue> fetchIssues(Group group, List<Book> books) {
+        var issues = gitHubIssueRepository.getByNumbers(group, books.stream()
+                .map(Book::getIssue).collect(Collectors.toList()));
+        books.forEach(b -> {
+            if (!issues.containsKey(b.getIssue())) {
+                throw new NoSuchElementException("Cannot resolved: #" + b.getIssue());
+            }
+        });
+        return issues;
+    }
+
+    private void updateIssues(List<Book> books, Map<Long, GitHubIssue> issues) {
+        books.forEach(b -> {
+            var issue = issues.get(b.getIssue());
+            b.updateIssue(issue, renderBody(issue));
+        });
+    }
+
+    /**
+     * Render the body of the issue into HTML.
+     *
+     * @param issue GitHub issue
+     * @return HTML
+     * @since 0.7
+     */
+    public String renderBody(GitHubIssue issue) {
+        return markdownRenderer.renderBody(issue);
+    }
+
     public boolean isIssueLabel(GitHubLabel label, Group group) {
         return !Strings.isNullOrEmpty(label.getName()) &&
                 label.getName().contains(group.getLabelFilter().replace(Group.LABEL_FILTER_PATTERN, ""));
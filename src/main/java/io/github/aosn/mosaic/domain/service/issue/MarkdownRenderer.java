@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.service.issue;
+
+import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import io.github.aosn.mosaic.domain.model.issue.GitHubIssue;
+import org.pegdown.PegDownProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Renders markdown of issue bodies into HTML.
+ * <p>{@link PegDownProcessor} is not thread-safe and expensive to construct, so one processor is kept per thread.
+ * Rendered bodies are cached by issue number and hash of the body, at most {@code mosaic.markdown.cache} entries.</p>
+ *
+ * @author mikan
+ * @since 0.7
+ */
+@Component
+public class MarkdownRenderer {
+
+    private static final ThreadLocal<PegDownProcessor> PROCESSOR = ThreadLocal.withInitial(PegDownProcessor::new);
+    private Cache<String, String> cache;
+
+    @Value("${mosaic.markdown.cache:1000}")
+    private long cacheSize;
+
+    @PostConstruct
+    private void init() {
+        cache = CacheBuilder.newBuilder().maximumSize(cacheSize).build();
+    }
+
+    /**
+     * Render the body of the issue.
+     *
+     * @param issue issue
+     * @return HTML
+     */
+    public String renderBody(GitHubIssue issue) {
+        var body = Strings.nullToEmpty(issue.getBody());
+        var key = issue.getId() + ":" + Hashing.sha256().hashString(body, StandardCharsets.UTF_8);
+        var html = cache.getIfPresent(key);
+        if (html == null) {
+            html = render(body);
+            cache.put(key, html);
+        }
+        return html;
+    }
+
+    /**
+     * Render markdown without caching.
+     *
+     * @param markdown markdown text
+     * @return HTML
+     */
+    public String render(String markdown) {
+        return PROCESSOR.get().markdownToHtml(Strings.nullToEmpty(markdown));
+    }
+}
@@ -3,26 +3,73 @@
  */
 package io.github.aosn.mosaic.domain.service.notification;
 
+import io.github.aosn.mosaic.domain.model.notification.OutboxMessage;
 import io.github.aosn.mosaic.domain.model.notification.SlackMessage;
 import io.github.aosn.mosaic.domain.model.poll.Poll;
+import io.github.aosn.mosaic.domain.repository.notification.OutboxMessageRepository;
 import io.github.aosn.mosaic.domain.repository.notification.SlackRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
+ * Sends notifications through the outbox.
+ * <p>Messages are stored as {@link OutboxMessage}s at first, then sent by the bounded task executor. Failed
+ * messages are retried with exponential backoff (from {@code mosaic.notification.retry.base} milliseconds, at
+ * most {@code mosaic.notification.retry.max} attempts) by the periodic sweep, which also picks up the messages
+ * left by the previous process.</p>
+ * <p>In the digest mode ({@code mosaic.notification.digest.enabled}), messages are stored as digest entries due
+ * {@code mosaic.notification.digest.window} milliseconds later. When the sweep finds the first due entry, all
+ * pending entries to the same webhook (and channel and username) are merged and posted as one message, where
+ * repeated events of the same poll are posted once. Entries survive restarts as same as other messages.</p>
+ *
  * @author mikan
  * @since 0.1
  */
 @Service
 @Slf4j
-@Async
 public class NotificationService {
 
+    private static final long MAX_BACKOFF_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final long LEASE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final long RETENTION_MILLIS = TimeUnit.DAYS.toMillis(7);
     private final SlackRepository slackRepository;
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ThreadPoolTaskExecutor taskExecutor;
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong(); // millis from created to sent
+
+    @Value("${mosaic.notification.digest.enabled:false}")
+    private boolean digestEnabled;
+
+    @Value("${mosaic.notification.digest.window:60000}")
+    private long digestWindow;
+
+    @Value("${mosaic.notification.retry.base:5000}")
+    private long retryBase;
 
-    public NotificationService(SlackRepository slackRepository) {
+    @Value("${mosaic.notification.retry.max:8}")
+    private int retryMax;
+
+    public NotificationService(SlackRepository slackRepository, OutboxMessageRepository outboxMessageRepository,
+                               ThreadPoolTaskExecutor taskExecutor) {
         this.slackRepository = slackRepository;
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.taskExecutor = taskExecutor;
     }
 
     public void notifyBeginOfPoll(Poll poll) {
@@ -35,7 +82,7 @@ public class NotificationService {
                 .username(group.getSlackUsername())
                 .text(group.getSlackBeginTemplate().replace("%s", poll.getSubject()))
                 .build();
-        slackRepository.post(group.getSlackWebhook(), message);
+        post(group.getSlackWebhook(), poll.getId() + ":begin", message);
     }
 
     public void notifyEndOfPoll(Poll poll) {
@@ -48,6 +95,142 @@ public class NotificationService {
                 .username(group.getSlackUsername())
                 .text(group.getSlackEndTemplate().replace("%s", poll.getSubject()))
                 .build();
-        slackRepository.post(group.getSlackWebhook(), message);
+        post(group.getSlackWebhook(), poll.getId() + ":end", message);
+    }
+
+    /**
+     * Get statistics of the outbox.
+     *
+     * @return statistics
+     * @throws DataAccessException if the database error occurred
+     * @since 0.7
+     */
+    public Stats getStats() {
+        var sent = sentCount.get();
+        return new Stats(outboxMessageRepository.countByState(OutboxMessage.State.PENDING),
+                outboxMessageRepository.countByState(OutboxMessage.State.FAILED),
+                taskExecutor.getThreadPoolExecutor().getQueue().size(),
+                sent, sent == 0 ? 0 : totalLatency.get() / sent);
+    }
+
+    /**
+     * Send pending messages, including the messages to be retried, and delete old sent messages.
+     * <p>Only the first digest entry per destination is dispatched, the others are merged into it.</p>
+     */
+    @Scheduled(fixedDelayString = "${mosaic.notification.sweep:10000}")
+    public void sweep() {
+        var now = new Date();
+        var digests = new ArrayList<OutboxMessage>();
+        for (var message : outboxMessageRepository.findFirst50ByStateAndNextAttemptBeforeOrderByNextAttemptAsc(
+                OutboxMessage.State.PENDING, now)) {
+            if (message.getDigestEvent() != null) {
+                if (digests.stream().anyMatch(message::isSameDestination)) {
+                    continue;
+                }
+                digests.add(message);
+            }
+            dispatch(message);
+        }
+        outboxMessageRepository.deleteBySentTimeBefore(new Date(now.getTime() - RETENTION_MILLIS));
+    }
+
+    private void post(String webhook, String event, SlackMessage message) {
+        if (!digestEnabled) {
+            enqueue(webhook, message);
+            return;
+        }
+        // sent by the sweep at the end of the window
+        outboxMessageRepository.save(OutboxMessage.createDigest(webhook, event, message,
+                new Date(System.currentTimeMillis() + digestWindow)));
+    }
+
+    private void enqueue(String webhook, SlackMessage message) {
+        dispatch(outboxMessageRepository.save(OutboxMessage.create(webhook, message)));
+    }
+
+    private void dispatch(OutboxMessage message) {
+        try {
+            taskExecutor.execute(() -> send(message));
+        } catch (TaskRejectedException e) {
+            log.warn("Notification queue is full, left to sweep: " + message);
+        }
+    }
+
+    private void send(OutboxMessage message) {
+        var now = new Date();
+        var lease = new Date(now.getTime() + LEASE_MILLIS);
+        if (outboxMessageRepository.claim(message.getId(), OutboxMessage.State.PENDING, now, lease) == 0) {
+            return; // sent or being sent by others
+        }
+        var messages = message.getDigestEvent() == null ? List.of(message) : claimDigest(message, lease);
+        try {
+            slackRepository.post(message.getWebhook(), messages.size() == 1 ? message.toSlackMessage() :
+                    merge(messages));
+            messages.forEach(m -> {
+                m.sent();
+                sentCount.incrementAndGet();
+                totalLatency.addAndGet(m.getSentTime().getTime() - m.getCreatedTime().getTime());
+            });
+        } catch (RuntimeException e) {
+            var giveUp = message.getAttempts() + 1 >= retryMax;
+            var backoff = Math.min(retryBase << Math.min(message.getAttempts(), 20), MAX_BACKOFF_MILLIS);
+            var nextAttempt = giveUp ? null : new Date(System.currentTimeMillis() + backoff);
+            messages.forEach(m -> m.failed(e.getMessage(), nextAttempt));
+            log.warn("Notification failed (" + message.getAttempts() + "/" + retryMax + "): " + message, e);
+        }
+        outboxMessageRepository.save(messages);
+    }
+
+    /**
+     * Claim the pending digest entries to the same destination as the claimed entry.
+     *
+     * @param message claimed digest entry
+     * @param lease   time of the next attempt if the sender died while sending
+     * @return {@link List} of claimed entries including the message, oldest first
+     */
+    private List<OutboxMessage> claimDigest(OutboxMessage message, Date lease) {
+        var messages = new ArrayList<OutboxMessage>();
+        messages.add(message);
+        outboxMessageRepository.findByStateAndDigestEventNotNullOrderByIdAsc(OutboxMessage.State.PENDING).stream()
+                .filter(m -> !m.getId().equals(message.getId()) && m.isSameDestination(message))
+                .filter(m -> outboxMessageRepository.claimDigest(m.getId(), OutboxMessage.State.PENDING,
+                        m.getNextAttempt(), lease) > 0)
+                .forEach(messages::add);
+        messages.sort(Comparator.comparing(OutboxMessage::getId));
+        return messages;
+    }
+
+    /**
+     * Merge the digest entries into one message, posting the same event once.
+     *
+     * @param messages entries to the same destination, oldest first
+     * @return merged message
+     */
+    private static SlackMessage merge(List<OutboxMessage> messages) {
+        var texts = new LinkedHashMap<String, String>();
+        messages.forEach(m -> texts.putIfAbsent(m.getDigestEvent(), m.toSlackMessage().getText()));
+        var first = messages.get(0).toSlackMessage();
+        return SlackMessage.builder()
+                .channel(first.getChannel())
+                .username(first.getUsername())
+                .text(String.join("\n", texts.values()))
+                .build();
+    }
+
+    /**
+     * Statistics of the outbox.
+     *
+     * @author mikan
+     * @since 0.7
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+
+        private final long pending;
+        private final long failed;
+        private final int queued;
+        private final long sent;
+        private final long averageLatency; // millis
     }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.service.poll;
+
+import io.github.aosn.mosaic.domain.model.poll.Vote;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Fans out the committed votes to the listeners of each poll (e.g. open result views).
+ * <p>Listeners receive small deltas instead of reloading the poll, and are called on the thread which committed
+ * the votes. Listeners must return quickly, e.g. by {@code UI.access(Runnable)}.</p>
+ * <p>Listeners must be registered before loading the snapshot of the poll, so that no delta committed after
+ * loading is missed, then skip the deltas already contained in the snapshot by {@link Delta#getVoterCount()}.</p>
+ *
+ * @author mikan
+ * @since 0.7
+ */
+@Slf4j
+@Component
+public class PollBroadcaster {
+
+    private final Map<Long, Set<Consumer<Delta>>> listeners = new ConcurrentHashMap<>();
+
+    /**
+     * Register a listener of the poll.
+     *
+     * @param pollId   poll id
+     * @param listener listener, must be unregistered by {@link #unregister(Long, Consumer)}
+     */
+    public void register(Long pollId, Consumer<Delta> listener) {
+        listeners.computeIfAbsent(pollId, k -> ConcurrentHashMap.newKeySet()).add(listener);
+    }
+
+    /**
+     * Unregister a listener of the poll.
+     *
+     * @param pollId   poll id
+     * @param listener registered listener
+     */
+    public void unregister(Long pollId, Consumer<Delta> listener) {
+        listeners.computeIfPresent(pollId, (k, v) -> {
+            v.remove(listener);
+            return v.isEmpty() ? null : v;
+        });
+    }
+
+    /**
+     * Publish the deltas after the current transaction is committed, or immediately out of a transaction.
+     * Nothing is published if the transaction is rolled back.
+     *
+     * @param deltas deltas
+     */
+    void publishAfterCommit(List<Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deltas.forEach(this::publish);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                deltas.forEach(PollBroadcaster.this::publish);
+            }
+        });
+    }
+
+    private void publish(Delta delta) {
+        var pollListeners = listeners.get(delta.getPollId());
+        if (pollListeners == null) {
+            return;
+        }
+        pollListeners.forEach(l -> {
+            try {
+                l.accept(delta);
+            } catch (RuntimeException e) {
+                log.warn("Poll listener failed: poll=" + delta.getPollId(), e);
+            }
+        });
+    }
+
+    /**
+     * Votes committed to a poll at once.
+     *
+     * @author mikan
+     * @since 0.7
+     */
+    @Getter
+    @AllArgsConstructor
+    @ToString(exclude = "votes")
+    public static class Delta {
+
+        private final Long pollId;
+
+        /**
+         * Added votes, for the views which rank the books again.
+         */
+        private final List<Vote> votes;
+
+        /**
+         * Number of added voters.
+         */
+        private final int voters;
+
+        /**
+         * Number of voters of the poll including this delta.
+         * <p>Writers of a poll are serialized by the row lock of the poll, so a snapshot of which
+         * {@link io.github.aosn.mosaic.domain.model.poll.Poll#getVoterCount()} is equal or greater than this
+         * value already contains this delta.</p>
+         */
+        private final int voterCount;
+    }
+}
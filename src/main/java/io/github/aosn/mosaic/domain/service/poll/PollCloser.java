@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.service.poll;
+
+import io.github.aosn.mosaic.domain.model.poll.Poll;
+import io.github.aosn.mosaic.domain.model.scheduler.SchedulerLock;
+import io.github.aosn.mosaic.domain.repository.poll.PollRepository;
+import io.github.aosn.mosaic.domain.repository.scheduler.SchedulerLockRepository;
+import io.github.aosn.mosaic.domain.service.notification.NotificationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Closes the polls whose end date has passed.
+ * <p>Only the instance holding the {@link SchedulerLock} row runs the job. Expired polls are found through the
+ * (state, end) index and closed in batches, each batch following the (end, id) of the last poll of the previous
+ * one. Each poll gets its own transaction, and the end-of-poll notification is sent as if the owner closed it.</p>
+ *
+ * @author mikan
+ * @since 0.7
+ */
+@Slf4j
+@Component
+public class PollCloser {
+
+    static final String LOCK_NAME = "poll-closer";
+    private final PollRepository pollRepository;
+    private final PollService pollService;
+    private final NotificationService notificationService;
+    private final SchedulerLockRepository lockRepository;
+    private final String instanceId;
+
+    @Value("${mosaic.poll.close.batch:50}")
+    private int batchSize;
+
+    @Value("${mosaic.poll.close.lease:300000}")
+    private long lease;
+
+    public PollCloser(PollRepository pollRepository, PollService pollService,
+                      NotificationService notificationService, SchedulerLockRepository lockRepository) {
+        this.pollRepository = pollRepository;
+        this.pollService = pollService;
+        this.notificationService = notificationService;
+        this.lockRepository = lockRepository;
+        this.instanceId = hostName() + "/" + UUID.randomUUID();
+    }
+
+    /**
+     * Close the expired polls, if this instance acquires the lock.
+     * A poll expires on the day after its end date.
+     */
+    @Scheduled(initialDelayString = "${mosaic.poll.close.interval:60000}",
+            fixedDelayString = "${mosaic.poll.close.interval:60000}")
+    public void closeExpiredPolls() {
+        if (!acquire()) {
+            return;
+        }
+        try {
+            var today = java.sql.Date.valueOf(LocalDate.now());
+            var page = new PageRequest(0, batchSize);
+            Poll last = null;
+            while (true) {
+                // polls failed to close are skipped by the keyset, and retried by the next run
+                var polls = last == null ?
+                        pollRepository.findEndedBefore(Poll.PollState.OPEN, today, page) :
+                        pollRepository.findEndedBeforeAfter(Poll.PollState.OPEN, today, last.getEnd(), last.getId(),
+                                page);
+                if (polls.isEmpty()) {
+                    return;
+                }
+                polls.forEach(p -> close(p.getId()));
+                last = polls.get(polls.size() - 1);
+                if (!acquire()) {
+                    return; // lease expired and taken over by other instance
+                }
+            }
+        } finally {
+            lockRepository.release(LOCK_NAME, instanceId, new Date());
+        }
+    }
+
+    private void close(Long pollId) {
+        try {
+            var poll = pollService.get(pollId);
+            if (poll.isClosed()) {
+                return; // closed by the owner meanwhile
+            }
+            log.info("Closing expired poll: " + pollId);
+            pollService.close(poll);
+            if (poll.getGroup() != null) {
+                notificationService.notifyEndOfPoll(poll);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to close expired poll: " + pollId, e);
+        }
+    }
+
+    private boolean acquire() {
+        var now = new Date();
+        var until = new Date(now.getTime() + lease);
+        if (lockRepository.acquire(LOCK_NAME, instanceId, now, until) > 0) {
+            return true;
+        }
+        if (lockRepository.exists(LOCK_NAME)) {
+            return false;
+        }
+        try {
+            lockRepository.saveAndFlush(SchedulerLock.create(LOCK_NAME));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Lock row created by other instance: " + LOCK_NAME);
+        }
+        return lockRepository.acquire(LOCK_NAME, instanceId, now, until) > 0;
+    }
+
+    private static String hostName() {
+        try {
+            var name = InetAddress.getLocalHost().getHostName();
+            return name.length() > 60 ? name.substring(0, 60) : name;
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
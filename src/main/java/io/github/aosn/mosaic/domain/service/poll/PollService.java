@@ -3,24 +3,37 @@
  */
 package io.github.aosn.mosaic.domain.service.poll;
 
+import io.github.aosn.mosaic.MosaicApplication;
+import io.github.aosn.mosaic.domain.model.auth.User;
+import io.github.aosn.mosaic.domain.model.poll.Book;
 import io.github.aosn.mosaic.domain.model.poll.Group;
 import io.github.aosn.mosaic.domain.model.poll.Poll;
+import io.github.aosn.mosaic.domain.model.poll.PollSummary;
+import io.github.aosn.mosaic.domain.model.poll.Tally;
 import io.github.aosn.mosaic.domain.model.poll.Vote;
+import io.github.aosn.mosaic.domain.model.poll.Voter;
 import io.github.aosn.mosaic.domain.repository.poll.GroupRepository;
 import io.github.aosn.mosaic.domain.repository.poll.PollRepository;
+import io.github.aosn.mosaic.domain.repository.poll.TallyRepository;
+import io.github.aosn.mosaic.domain.repository.poll.VoteRepository;
+import io.github.aosn.mosaic.domain.repository.poll.VoterRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.transaction.Transactional;
 import java.time.LocalDate;
-import java.util.List;
-import java.util.NoSuchElementException;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
-import java.util.stream.Stream;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 /**
  * Provides {@link Poll} entity operations.
@@ -32,9 +45,14 @@ import java.util.stream.Stream;
 @Slf4j
 public class PollService {
 
-    private static final Lock LOCK = new ReentrantLock();
     private final PollRepository pollRepository;
     private final GroupRepository groupRepository;
+    private final TallyRepository tallyRepository;
+    private final VoteRepository voteRepository;
+    private final VoterRepository voterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PollBroadcaster pollBroadcaster;
+    private VoteBatchQueue voteBatchQueue; // null unless the batch mode is enabled
 
     @Value("${mosaic.issue.organization}")
     private String defaultOrganization;
@@ -60,13 +78,52 @@ public class PollService {
     @Value("${mosaic.slack.template.end}")
     private String endTemplate;
 
-    public PollService(PollRepository pollRepository, GroupRepository groupRepository) {
+    @Value("${mosaic.vote.batch.enabled:false}")
+    private boolean batchEnabled;
+
+    @Value("${mosaic.vote.batch.size:50}")
+    private int batchSize;
+
+    @Value("${mosaic.vote.batch.interval:100}")
+    private long batchInterval;
+
+    @Value("${mosaic.vote.batch.capacity:1000}")
+    private int batchCapacity;
+
+    public PollService(PollRepository pollRepository, GroupRepository groupRepository,
+                       TallyRepository tallyRepository, VoteRepository voteRepository,
+                       VoterRepository voterRepository, PlatformTransactionManager transactionManager,
+                       PollBroadcaster pollBroadcaster) {
         this.pollRepository = pollRepository;
         this.groupRepository = groupRepository;
+        this.tallyRepository = tallyRepository;
+        this.voteRepository = voteRepository;
+        this.voterRepository = voterRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pollBroadcaster = pollBroadcaster;
     }
 
     @PostConstruct
     private void init() {
+        initDefaultGroup();
+        if (batchEnabled) {
+            log.info("Vote batch mode enabled: size=" + batchSize + " interval=" + batchInterval + "ms");
+            voteBatchQueue = new VoteBatchQueue(batchCapacity, batchSize, batchInterval, ballots ->
+                    transactionTemplate.execute(status -> {
+                        write(ballots);
+                        return null;
+                    }));
+        }
+    }
+
+    @PreDestroy
+    private void destroy() {
+        if (voteBatchQueue != null) {
+            voteBatchQueue.shutdown();
+        }
+    }
+
+    private void initDefaultGroup() {
         // insert default record at first time
         var allInDataSource = groupRepository.findAll();
         var slack = Group.SlackParam.builder()
@@ -96,51 +153,150 @@ public class PollService {
     }
 
     /**
-     * Get all entities.
+     * Get a page of poll summaries, newest first.
+     * <p>Pages are fetched by keyset ({@code begin}, {@code id}) instead of offset, so that reading a deep page
+     * costs as same as the first one. Books and votes are not loaded, use {@link #get(Long)} to obtain them.</p>
      *
-     * @return {@link Stream} of entities
+     * @param user  current user to check voted or not, or {@code null}
+     * @param state state of polls
+     * @param after last summary of the previous page, or {@code null} for the first page
+     * @param limit maximum number of summaries
+     * @return {@link List} of {@link PollSummary}s
      * @throws DataAccessException if the database error occurred
+     * @since 0.7
      */
-    public Stream<Poll> getAll() {
-        return pollRepository.findAll().stream();
+    public List<PollSummary> getSummaries(User user, Poll.PollState state, PollSummary after, int limit) {
+        var page = new PageRequest(0, limit);
+        if (after == null) {
+            return pollRepository.findSummaries(user, state, page);
+        }
+        return pollRepository.findSummariesAfter(user, state, after.getBegin(), after.getId(), page);
     }
 
     /**
-     * Get a poll entity.
+     * Get a poll entity with books, votes and tallies.
      *
      * @param pollId poll id
      * @return entity
      * @throws NoSuchElementException if requested poll is not found
      * @throws DataAccessException    if the database error occurred
      */
+    @Transactional
     public Poll get(Long pollId) {
         var poll = pollRepository.findOne(pollId);
         if (poll == null) {
             throw new NoSuchElementException("Poll not found: " + pollId);
         }
+        // views render the poll outside of the session
+        Hibernate.initialize(poll.getBooks());
+        Hibernate.initialize(poll.getVotes());
+        Hibernate.initialize(poll.getTallies());
         return poll;
     }
 
     /**
-     * Submit votes.
+     * Submit votes asynchronously.
+     * <p>Only the new {@link Vote} rows are inserted and the tallies are incremented in place, so that
+     * submissions to the different polls never block each other. If the batch mode
+     * ({@code mosaic.vote.batch.enabled}) is enabled, the votes are queued and written together with other
+     * ballots by a single writer. Otherwise, the votes are written immediately in the calling thread.</p>
      *
      * @param poll  poll
-     * @param votes {@link List} of {@link Vote}s
-     * @throws DataAccessException if the database error occurred
+     * @param votes {@link List} of {@link Vote}s submitted by one user
+     * @return future completed when the votes are committed, or completed exceptionally with
+     * {@link DuplicateVoteException}, {@link DataAccessException} or
+     * {@link java.util.concurrent.RejectedExecutionException} if the queue is full
+     * @since 0.7
      */
-    @Transactional
-    public void submit(Poll poll, List<Vote> votes) {
-        log.info("BEGIN submit: " + votes);
-        LOCK.lock();
+    public CompletableFuture<Void> submitAsync(Poll poll, List<Vote> votes) {
+        if (voteBatchQueue != null) {
+            return voteBatchQueue.offer(poll, votes);
+        }
+        try {
+            transactionTemplate.execute(status -> {
+                write(List.of(new VoteBatchQueue.Ballot(poll, votes)));
+                return null;
+            });
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Write ballots in the current transaction.
+     * <p>A {@link Voter} row per ballot is inserted first, so that the unique constraint on (poll, user) rejects
+     * the users already voted, even by a concurrent transaction. Then all votes are inserted at once, and the
+     * tallies and the number of voters are incremented once per (poll, book) and poll in a fixed order to avoid
+     * deadlocks between concurrent writers.</p>
+     *
+     * @param ballots {@link List} of {@link VoteBatchQueue.Ballot}s
+     * @throws DuplicateVoteException if any user already voted to the poll
+     * @throws DataAccessException    if the database error occurred
+     */
+    private void write(List<VoteBatchQueue.Ballot> ballots) {
+        var voted = new HashSet<String>();
+        for (var ballot : ballots) {
+            if (ballot.getVotes().isEmpty()) {
+                continue;
+            }
+            var key = ballot.getPoll().getId() + ":" + ballot.getUser().getName();
+            if (!voted.add(key)) {
+                throw new DuplicateVoteException("Already voted: " + key, null);
+            }
+        }
         try {
-            var allVotes = poll.getVotes();
-            allVotes.addAll(votes);
-            poll.setVotes(allVotes);
-            pollRepository.saveAndFlush(poll);
-        } finally {
-            LOCK.unlock();
+            voterRepository.save(ballots.stream()
+                    .filter(b -> !b.getVotes().isEmpty())
+                    .map(b -> Voter.create(b.getPoll(), b.getUser()))
+                    .collect(Collectors.toList()));
+            voterRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateVoteException("Already voted: " + voted, e);
         }
-        log.info("END submit: " + votes);
+        voteRepository.save(ballots.stream()
+                .flatMap(b -> b.getVotes().stream())
+                .collect(Collectors.toList()));
+        voteRepository.flush();
+        count(ballots);
+    }
+
+    /**
+     * Count submitted votes into the tallies and the number of voters.
+     * <p>The votes are published to the {@link PollBroadcaster} after commit, with the number of voters
+     * including them. The listeners are looked up after commit rather than checked here, since a listener
+     * registered before commit loads a snapshot which may not contain the votes. Such a listener may also
+     * receive the votes already contained in its snapshot, and skips them by
+     * {@link PollBroadcaster.Delta#getVoterCount()}.</p>
+     *
+     * @param ballots {@link List} of {@link VoteBatchQueue.Ballot}s
+     */
+    private void count(List<VoteBatchQueue.Ballot> ballots) {
+        var polls = new TreeMap<Long, Poll>();
+        var voters = new HashMap<Long, Integer>();
+        var increments = new HashMap<Long, Map<Book, Integer>>();
+        var added = new HashMap<Long, List<Vote>>();
+        ballots.stream().filter(b -> !b.getVotes().isEmpty()).forEach(b -> {
+            var pollId = b.getPoll().getId();
+            polls.putIfAbsent(pollId, b.getPoll());
+            voters.merge(pollId, 1, Integer::sum);
+            var books = increments.computeIfAbsent(pollId,
+                    k -> new TreeMap<Book, Integer>(Comparator.comparing(Book::getIssue)));
+            b.getVotes().forEach(v -> books.merge(v.getBook(), 1, Integer::sum));
+            added.computeIfAbsent(pollId, k -> new ArrayList<>()).addAll(b.getVotes());
+        });
+        polls.forEach((pollId, poll) -> {
+            increments.get(pollId).forEach((book, amount) -> {
+                if (tallyRepository.increment(poll, book, amount) == 0) {
+                    tallyRepository.save(Tally.builder().poll(poll).book(book).votes(amount).build());
+                }
+            });
+            pollRepository.incrementVoterCount(pollId, voters.get(pollId));
+        });
+        pollBroadcaster.publishAfterCommit(polls.keySet().stream()
+                .map(id -> new PollBroadcaster.Delta(id, Collections.unmodifiableList(added.get(id)),
+                        voters.get(id), Objects.requireNonNullElse(pollRepository.findVoterCount(id), 0)))
+                .collect(Collectors.toList()));
     }
 
     /**
@@ -153,6 +309,9 @@ public class PollService {
     public void create(Poll poll) {
         log.info("BEGIN create: " + poll);
         pollRepository.saveAndFlush(poll);
+        tallyRepository.save(poll.getBooks().stream()
+                .map(b -> Tally.create(poll, b))
+                .collect(Collectors.toList()));
         log.info("END create: " + poll);
     }
 
@@ -220,6 +379,17 @@ public class PollService {
         return pollRepository.count();
     }
 
+    /**
+     * Count number of polls by state.
+     *
+     * @param state state of polls
+     * @return number of polls
+     * @since 0.7
+     */
+    public long countPolls(Poll.PollState state) {
+        return pollRepository.countByState(state);
+    }
+
     /**
      * Count number of groups registered.
      *
@@ -229,4 +399,13 @@ public class PollService {
     public long countGroups() {
         return groupRepository.count();
     }
+
+    public static class DuplicateVoteException extends RuntimeException {
+
+        private static final long serialVersionUID = MosaicApplication.MOSAIC_SERIAL_VERSION_UID;
+
+        private DuplicateVoteException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.service.poll;
+
+import io.github.aosn.mosaic.domain.model.auth.User;
+import io.github.aosn.mosaic.domain.model.poll.Poll;
+import io.github.aosn.mosaic.domain.model.poll.Vote;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Bounded in-memory queue of ballots, written by a single writer thread.
+ * <p>The writer collects ballots until {@code batchSize} ballots are queued or {@code interval} milliseconds
+ * are elapsed, then passes them to the batch writer at once (group commit). If the batch fails, each ballot is
+ * retried alone, so that one bad ballot (e.g. a duplicate vote) doesn't reject the others.</p>
+ *
+ * @author mikan
+ * @see PollService#submitAsync(Poll, List)
+ * @since 0.7
+ */
+@Slf4j
+class VoteBatchQueue {
+
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+    private final BlockingQueue<Ballot> queue;
+    private final int batchSize;
+    private final long interval;
+    private final Consumer<List<Ballot>> batchWriter;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    /**
+     * Constructs and starts the queue.
+     *
+     * @param capacity    maximum number of queued ballots
+     * @param batchSize   maximum number of ballots per batch
+     * @param interval    maximum waiting time of a batch in milliseconds
+     * @param batchWriter writes ballots in one transaction, throws {@link RuntimeException} if failed
+     */
+    VoteBatchQueue(int capacity, int batchSize, long interval, Consumer<List<Ballot>> batchWriter) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.interval = interval;
+        this.batchWriter = batchWriter;
+        writerThread = new Thread(this::run, "mosaic-vote-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Enqueue a ballot.
+     *
+     * @param poll  poll
+     * @param votes {@link List} of {@link Vote}s submitted by one user
+     * @return future completed when the ballot is committed, or completed exceptionally with
+     * {@link RejectedExecutionException} if the queue is full or shut down
+     */
+    CompletableFuture<Void> offer(Poll poll, List<Vote> votes) {
+        var ballot = new Ballot(poll, votes);
+        if (!running || !queue.offer(ballot)) {
+            ballot.future.completeExceptionally(new RejectedExecutionException("Vote queue is not available"));
+        }
+        return ballot.future;
+    }
+
+    /**
+     * Stop accepting ballots and wait for the queued ballots to be written.
+     */
+    void shutdown() {
+        running = false;
+        try {
+            writerThread.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        var rejected = new ArrayList<Ballot>();
+        queue.drainTo(rejected);
+        rejected.forEach(b -> b.future.completeExceptionally(new RejectedExecutionException("Vote queue shut down")));
+    }
+
+    private void run() {
+        var batch = new ArrayList<Ballot>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                var first = queue.poll(interval, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(interval);
+                while (batch.size() < batchSize) {
+                    var remaining = deadline - System.nanoTime();
+                    var next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                log.warn("Vote writer interrupted", e);
+                batch.forEach(b -> b.future.completeExceptionally(e));
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Ballot> batch) {
+        try {
+            batchWriter.accept(batch);
+            log.info("Vote batch written: " + batch.size() + " ballots");
+            batch.forEach(b -> b.future.complete(null));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).future.completeExceptionally(e);
+                return;
+            }
+            log.warn("Vote batch failed, retrying one by one: " + e.getMessage());
+            batch.forEach(b -> write(List.of(b)));
+        }
+    }
+
+    /**
+     * Votes submitted by one user.
+     *
+     * @author mikan
+     * @since 0.7
+     */
+    @Getter
+    static class Ballot {
+
+        private final Poll poll;
+        private final List<Vote> votes;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        Ballot(Poll poll, List<Vote> votes) {
+            this.poll = poll;
+            this.votes = votes;
+        }
+
+        User getUser() {
+            return votes.get(0).getUser();
+        }
+    }
+}
@@ -6,6 +6,8 @@ package io.github.aosn.mosaic.ui;
 import com.vaadin.annotations.*;
 import com.vaadin.server.VaadinRequest;
 import com.vaadin.server.VaadinService;
+import com.vaadin.shared.communication.PushMode;
+import com.vaadin.shared.ui.ui.Transport;
 import com.vaadin.spring.annotation.SpringUI;
 import com.vaadin.spring.annotation.SpringViewDisplay;
 import com.vaadin.ui.UI;
@@ -29,6 +31,7 @@ import org.vaadin.spring.i18n.I18N;
 @StyleSheet(value = "vaadin:/" + SecurityConfig.CSS_PATH)
 @Viewport("user-scalable=no,width=500")
 @Widgetset("com.vaadin.v7.Vaadin7WidgetSet")
+@Push(value = PushMode.AUTOMATIC, transport = Transport.WEBSOCKET_XHR)
 public class MainUI extends UI {
 
     public static final String PATH = "/";
@@ -10,6 +10,7 @@ import com.vaadin.spring.annotation.SpringView;
 import com.vaadin.ui.*;
 import io.github.aosn.mosaic.MosaicApplication;
 import io.github.aosn.mosaic.domain.service.auth.UserService;
+import io.github.aosn.mosaic.domain.service.notification.NotificationService;
 import io.github.aosn.mosaic.domain.service.poll.PollService;
 import io.github.aosn.mosaic.domain.service.stock.StockService;
 import io.github.aosn.mosaic.ui.MainUI;
@@ -43,14 +44,16 @@ public class AdminView extends CustomComponent implements View {
     private transient final UserService userService;
     private transient final PollService pollService;
     private transient final StockService stockService;
+    private transient final NotificationService notificationService;
 
     public AdminView(Environment env, I18N i18n, UserService userService, PollService pollService,
-                     StockService stockService) {
+                     StockService stockService, NotificationService notificationService) {
         this.env = env;
         this.i18n = i18n;
         this.userService = userService;
         this.pollService = pollService;
         this.stockService = stockService;
+        this.notificationService = notificationService;
     }
 
     @Override
@@ -89,6 +92,19 @@ public class AdminView extends CustomComponent implements View {
         stats.addComponent(createFormEntry("Number of polls", Long.toString(pollService.countPolls())));
         stats.addComponent(createFormEntry("Number of books", Long.toString(stockService.countStocks())));
 
+        var notificationStats = notificationService.getStats();
+        var notifications = new FormLayout();
+        notifications.setCaption("Notifications");
+        notifications.setIcon(VaadinIcons.BELL);
+        contentPane.addComponent(notifications);
+        notifications.addComponent(createFormEntry("Pending", Long.toString(notificationStats.getPending())));
+        notifications.addComponent(createFormEntry("Failed", Long.toString(notificationStats.getFailed())));
+        notifications.addComponent(createFormEntry("Queued", Integer.toString(notificationStats.getQueued())));
+        notifications.addComponent(createFormEntry("Sent since startup",
+                Long.toString(notificationStats.getSent())));
+        notifications.addComponent(createFormEntry("Average latency",
+                notificationStats.getAverageLatency() + " ms"));
+
         var newGroupButton = new Button("Create group",
                 e -> getUI().getNavigator().navigateTo(NewGroupView.VIEW_NAME));
         newGroupButton.setIcon(VaadinIcons.GROUP);
@@ -14,6 +14,7 @@ import io.github.aosn.mosaic.domain.model.poll.Poll;
 import io.github.aosn.mosaic.domain.service.auth.UserService;
 import io.github.aosn.mosaic.domain.service.poll.PollService;
 import io.github.aosn.mosaic.ui.MainUI;
+import io.github.aosn.mosaic.ui.view.component.PollGrid;
 import io.github.aosn.mosaic.ui.view.component.PollTable;
 import io.github.aosn.mosaic.ui.view.layout.ContentPane;
 import io.github.aosn.mosaic.ui.view.layout.ViewRoot;
@@ -24,7 +25,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import static io.github.aosn.mosaic.ui.view.component.PollTable.ColumnGroup.*;
+import static io.github.aosn.mosaic.ui.view.component.PollTable.ColumnGroup.OPENING;
+import static io.github.aosn.mosaic.ui.view.component.PollTable.ColumnGroup.OWNER;
 
 /**
  * Front page.
@@ -58,17 +60,18 @@ public class FrontView extends CustomComponent implements View {
         var contentPane = new ContentPane();
 
         // Retrieve poll data
-        List<PollTable.Row> open, closed;
+        var user = userService.getUser();
+        List<PollTable.Row> open;
+        int closedSize;
         try {
-            var openAndClosed = pollService.getAll()
-                    .map(p -> PollTable.Row.from(p, userService.getUser(), i18n))
-                    .collect(Collectors.groupingBy(p -> p.getEntity().getState()));
-            open = openAndClosed.getOrDefault(Poll.PollState.OPEN, Collections.emptyList());
-            closed = openAndClosed.getOrDefault(Poll.PollState.CLOSED, Collections.emptyList());
+            open = pollService.getSummaries(user, Poll.PollState.OPEN, null, Integer.MAX_VALUE).stream()
+                    .map(p -> PollTable.Row.from(p, user, i18n))
+                    .collect(Collectors.toList());
+            closedSize = Math.toIntExact(pollService.countPolls(Poll.PollState.CLOSED));
         } catch (RuntimeException e) {
             log.error("getOpenPolls: ", e);
             open = Collections.emptyList();
-            closed = Collections.emptyList();
+            closedSize = 0;
         }
 
         // Open polls section
@@ -83,14 +86,15 @@ public class FrontView extends CustomComponent implements View {
         }
 
         // Closed polls section
-        if (closed.isEmpty()) {
+        if (closedSize == 0) {
             var label = new Label(VaadinIcons.INFO_CIRCLE.getHtml() + " " +
                     i18n.get("front.label.poll.closed.empty"), ContentMode.HTML);
             contentPane.addComponent(label);
             contentPane.setComponentAlignment(label, Alignment.MIDDLE_CENTER);
         } else {
             // Display closed polls
-            contentPane.addComponent(new PollTable(i18n.get("front.caption.poll.closed"), CLOSED, closed, i18n));
+            contentPane.addComponent(new PollGrid(i18n.get("front.caption.poll.closed"), closedSize,
+                    (after, limit) -> pollService.getSummaries(user, Poll.PollState.CLOSED, after, limit), user, i18n));
         }
 
         // New poll button
@@ -101,10 +105,10 @@ public class FrontView extends CustomComponent implements View {
 
         // Owners
         var owners = open.stream()
-                .filter(r -> r.getEntity().isOwner(userService.getUser()))
+                .filter(r -> r.getEntity().isOwner(user))
                 .collect(Collectors.toList());
         if (!owners.isEmpty()) {
-            contentPane.addComponent(new PollTable(i18n.get("front.caption.poll.owner"), OWNER, open, i18n));
+            contentPane.addComponent(new PollTable(i18n.get("front.caption.poll.owner"), OWNER, owners, i18n));
         }
 
         return contentPane;
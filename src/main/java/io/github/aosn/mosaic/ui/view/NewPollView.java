@@ -16,9 +16,9 @@ import com.vaadin.ui.*;
 import com.vaadin.ui.themes.ValoTheme;
 import io.github.aosn.mosaic.MosaicApplication;
 import io.github.aosn.mosaic.domain.model.issue.GitHubIssue;
-import io.github.aosn.mosaic.domain.model.poll.Book;
 import io.github.aosn.mosaic.domain.model.poll.Group;
 import io.github.aosn.mosaic.domain.model.poll.Poll;
+import io.github.aosn.mosaic.domain.model.poll.VotingMethod;
 import io.github.aosn.mosaic.domain.service.auth.UserService;
 import io.github.aosn.mosaic.domain.service.issue.IssueService;
 import io.github.aosn.mosaic.domain.service.notification.NotificationService;
@@ -107,7 +107,7 @@ public class NewPollView extends CustomComponent implements View {
         contentPane.addComponent(groupWrapper);
 
         var rows = issues.stream()
-                .map(r -> IssueTable.Row.from(r,
+                .map(r -> IssueTable.Row.from(r, issueService::renderBody,
                         l -> issueService.isIssueLabel(l, selectedGroup),
                         l -> issueService.trimPartLabel(l, selectedGroup)))
                 .collect(Collectors.toList());
@@ -152,6 +152,16 @@ public class NewPollView extends CustomComponent implements View {
         pollBinder.forField(votesComboBox).bind(Poll::getDoubles, Poll::setDoubles);
         form.addComponent(votesComboBox);
 
+        var methodComboBox = new ComboBox<VotingMethod>(i18n.get("new.caption.method"));
+        methodComboBox.setEmptySelectionAllowed(false);
+        methodComboBox.setTextInputAllowed(false);
+        methodComboBox.setRequiredIndicatorVisible(true);
+        methodComboBox.setItems(VotingMethod.values());
+        methodComboBox.setItemCaptionGenerator(m -> i18n.get("common.label.method." + m.name().toLowerCase()));
+        methodComboBox.setValue(poll.getVotingMethod());
+        pollBinder.forField(methodComboBox).bind(Poll::getVotingMethod, Poll::setVotingMethod);
+        form.addComponent(methodComboBox);
+
         var notifyCheckBox = new CheckBox(i18n.get("common.caption.notify.slack"));
         notifyCheckBox.setValue(selectedGroup.isSlackEnabled());
         notifyCheckBox.setEnabled(selectedGroup.isSlackEnabled());
@@ -190,7 +200,7 @@ public class NewPollView extends CustomComponent implements View {
 
             // Set books
             poll.setBooks(selected.stream()
-                    .map(i -> Book.builder().issue(i.getId()).url(i.getUrl()).build())
+                    .map(issueService::toBook)
                     .collect(Collectors.toList()));
             poll.setGroup(selectedGroup);
 
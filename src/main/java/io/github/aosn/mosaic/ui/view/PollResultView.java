@@ -11,9 +11,12 @@ import com.vaadin.ui.*;
 import com.vaadin.ui.themes.ValoTheme;
 import io.github.aosn.mosaic.MosaicApplication;
 import io.github.aosn.mosaic.domain.model.poll.Poll;
+import io.github.aosn.mosaic.domain.model.poll.Ranking;
+import io.github.aosn.mosaic.domain.model.poll.Vote;
 import io.github.aosn.mosaic.domain.service.auth.UserService;
 import io.github.aosn.mosaic.domain.service.issue.IssueService;
 import io.github.aosn.mosaic.domain.service.notification.NotificationService;
+import io.github.aosn.mosaic.domain.service.poll.PollBroadcaster;
 import io.github.aosn.mosaic.domain.service.poll.PollService;
 import io.github.aosn.mosaic.ui.MainUI;
 import io.github.aosn.mosaic.ui.view.component.*;
@@ -23,9 +26,14 @@ import io.github.aosn.mosaic.ui.view.layout.IconAndName;
 import io.github.aosn.mosaic.ui.view.layout.ViewRoot;
 import io.github.aosn.mosaic.ui.view.style.Notifications;
 import io.github.aosn.mosaic.ui.view.style.Style;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.vaadin.spring.i18n.I18N;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -48,14 +56,20 @@ public class PollResultView extends CustomComponent implements View {
     private transient final PollService pollService;
     private transient final IssueService issueService;
     private transient final NotificationService notificationService;
+    private transient final PollBroadcaster pollBroadcaster;
+    private transient final List<PollBroadcaster.Delta> pendingDeltas = new ArrayList<>();
+    @Nullable
+    private transient Consumer<PollBroadcaster.Delta> deltaHandler;
+    private int voterCount;
 
     public PollResultView(I18N i18n, UserService userService, PollService pollService, IssueService issueService,
-                          NotificationService notificationService) {
+                          NotificationService notificationService, PollBroadcaster pollBroadcaster) {
         this.i18n = i18n;
         this.userService = userService;
         this.pollService = pollService;
         this.issueService = issueService;
         this.notificationService = notificationService;
+        this.pollBroadcaster = pollBroadcaster;
     }
 
     @Override
@@ -75,17 +89,28 @@ public class PollResultView extends CustomComponent implements View {
             return;
         }
 
+        // Receive the votes before loading, so that no vote committed after loading is missed
+        var ui = UI.getCurrent();
+        Consumer<PollBroadcaster.Delta> listener = d -> ui.access(() -> receive(d));
+        pollBroadcaster.register(pollId, listener);
+        addDetachListener(e -> pollBroadcaster.unregister(pollId, listener));
+
         // Search DB
         var poll = ErrorView.showIfExceptionThrows(() -> issueService.resolveBooks(pollService.get(pollId)));
         if (poll == null) {
+            pollBroadcaster.unregister(pollId, listener);
             return;
         }
 
         // Access check
         if (!poll.isResultAccessible(userService.getUser())) {
+            pollBroadcaster.unregister(pollId, listener);
             ErrorView.show(i18n.get("result.error.access.forbidden"), null);
             return;
         }
+        if (poll.isClosed()) {
+            pollBroadcaster.unregister(pollId, listener);
+        }
 
         getUI().getPage().setTitle(i18n.get("header.label.title"));
         setCompositionRoot(new ViewRoot(i18n, userService, poll.getGroup(), createResultLayout(poll)));
@@ -115,8 +140,15 @@ public class PollResultView extends CustomComponent implements View {
         termLabel.setCaption(i18n.get("result.caption.poll.term"));
         aboutForm.addComponent(termLabel);
 
+        var methodLabel = new Label(i18n.get("common.label.method." +
+                poll.getVotingMethod().name().toLowerCase()));
+        methodLabel.setCaption(i18n.get("result.caption.poll.method"));
+        aboutForm.addComponent(methodLabel);
+
         var users = poll.getVoters();
-        var votesPerUserLabel = new Label(String.valueOf(users.size()));
+        var votes = new ArrayList<>(poll.getVotes()); // and the votes received while open
+        voterCount = poll.getVoterCount();
+        var votesPerUserLabel = new Label(String.valueOf(voterCount));
         votesPerUserLabel.setCaption(i18n.get("result.caption.poll.voters.n"));
         aboutForm.addComponent(votesPerUserLabel);
 
@@ -128,9 +160,11 @@ public class PollResultView extends CustomComponent implements View {
 
         // Show winner when poll was closed
         if (poll.getState() == Poll.PollState.CLOSED) {
+            // polls closed before 0.7 have no winner if tied
             var winner = poll.getWinBook();
-            var winnerLabel = new Label(winner == null ? i18n.get("result.label.poll.winner.tie") :
-                    winner.getGitHubIssue().getTitle());
+            var winnerLabel = new Label(winner != null ? winner.getGitHubIssue().getTitle() :
+                    poll.getVoterCount() > 0 ? i18n.get("result.label.poll.winner.tie") :
+                            i18n.get("result.label.poll.winner.none"));
             winnerLabel.setCaption(i18n.get("result.caption.poll.winner"));
             aboutForm.addComponent(winnerLabel);
 
@@ -147,8 +181,31 @@ public class PollResultView extends CustomComponent implements View {
                         l -> issueService.isIssueLabel(l, poll.getGroup()),
                         l -> issueService.trimPartLabel(l, poll.getGroup())))
                 .collect(Collectors.toList());
-        contentPane.addComponent(new IssueTable(i18n.get("result.caption.book.list"), ColumnGroup.CLOSED, rows,
-                i18n));
+        var bookTable = new IssueTable(i18n.get("result.caption.book.list"), ColumnGroup.CLOSED, rows, i18n);
+        contentPane.addComponent(bookTable);
+
+        // Apply the votes while open, except the ones already loaded
+        if (!poll.isClosed()) {
+            var loaded = voterCount;
+            deltaHandler = d -> {
+                if (d.getVoterCount() <= loaded) {
+                    return;
+                }
+                votes.addAll(d.getVotes());
+                voterCount += d.getVoters();
+                votesPerUserLabel.setValue(String.valueOf(voterCount));
+                d.getVotes().stream()
+                        .map(Vote::getUser)
+                        .distinct()
+                        .forEach(u -> voters.addComponent(new IconAndName(u)));
+                var added = d.getVotes().stream()
+                        .collect(Collectors.groupingBy(Vote::getBook, Collectors.counting()));
+                rows.stream()
+                        .filter(r -> added.containsKey(r.getBookEntity()))
+                        .forEach(r -> r.addVotes(added.get(r.getBookEntity()).intValue()));
+                bookTable.sort(); // by the votes
+            };
+        }
 
         var backButton = new Button(i18n.get("common.button.back"),
                 e -> getUI().getPage().setLocation(MainUI.PATH));
@@ -163,17 +220,28 @@ public class PollResultView extends CustomComponent implements View {
             summaryForm.setMargin(false);
             contentPane.addComponent(summaryForm);
 
-            var winner = poll.judgeWinner();
-            var winnerName = winner == null ? i18n.get("result.label.poll.winner.tie") :
-                    winner.getGitHubIssue().getTitle();
-            var winnerLabel = new Label(winnerName);
+            var winnerLabel = new Label();
             winnerLabel.setCaption(i18n.get("result.label.poll.winner.current"));
             summaryForm.addComponent(winnerLabel);
 
-            if (winner != null) {
-                var popularityRateLabel = new Label(poll.calcPopularityRate(winner).toString());
-                popularityRateLabel.setCaption(i18n.get("result.caption.popularity"));
-                summaryForm.addComponent(popularityRateLabel);
+            var popularityRateLabel = new Label();
+            popularityRateLabel.setCaption(i18n.get("result.caption.popularity"));
+            summaryForm.addComponent(popularityRateLabel);
+
+            // Ranked again by every received vote, the leader may change
+            Runnable showWinner = () -> {
+                var ranking = poll.rank(votes);
+                var winner = ranking.getWinner();
+                winnerLabel.setValue(winnerName(ranking));
+                popularityRateLabel.setVisible(winner != null);
+                if (winner != null) {
+                    var winnerVotes = (int) votes.stream().filter(v -> winner.equals(v.getBook())).count();
+                    popularityRateLabel.setValue(new Poll.PopularityRate(winnerVotes, voterCount).toString());
+                }
+            };
+            showWinner.run();
+            if (deltaHandler != null) {
+                deltaHandler = deltaHandler.andThen(d -> showWinner.run());
             }
 
             var notifyCheck = new CheckBox(i18n.get("common.caption.notify.slack"));
@@ -181,10 +249,10 @@ public class PollResultView extends CustomComponent implements View {
             notifyCheck.setEnabled(poll.getGroup().isSlackEnabled());
             contentPane.addComponent(notifyCheck);
 
-            var confirmMessage = i18n.get("result.label.confirm.close") + "<br/>" +
-                    i18n.get("result.label.poll.winner.current") + ": " + winnerName;
+            Supplier<String> confirmMessage = () -> i18n.get("result.label.confirm.close") + "<br/>" +
+                    i18n.get("result.label.poll.winner.current") + ": " + winnerLabel.getValue();
             var closeButton = new Button(i18n.get("result.button.poll.close"),
-                    e -> UI.getCurrent().addWindow(new ConfirmWindow(confirmMessage, i18n, ok -> {
+                    e -> UI.getCurrent().addWindow(new ConfirmWindow(confirmMessage.get(), i18n, ok -> {
                         pollService.close(poll);
                         if (notifyCheck.getValue()) {
                             notificationService.notifyEndOfPoll(poll);
@@ -204,6 +272,33 @@ public class PollResultView extends CustomComponent implements View {
                     .map(VoteGrid.Row::from).collect(Collectors.toList()), i18n));
         }
 
+        if (deltaHandler != null) {
+            pendingDeltas.forEach(deltaHandler);
+            pendingDeltas.clear();
+        }
         return contentPane;
     }
+
+    private String winnerName(Ranking ranking) {
+        var winner = ranking.getWinner();
+        var winnerName = winner == null ? i18n.get("result.label.poll.winner.none") :
+                winner.getGitHubIssue().getTitle();
+        if (ranking.isTie()) {
+            winnerName += " " + i18n.get("result.label.poll.winner.tiebreak");
+        }
+        return winnerName;
+    }
+
+    /**
+     * Receive the votes under the session lock, and keep them until the layout is created.
+     *
+     * @param delta votes
+     */
+    private void receive(PollBroadcaster.Delta delta) {
+        if (deltaHandler == null) {
+            pendingDeltas.add(delta);
+            return;
+        }
+        deltaHandler.accept(delta);
+    }
 }
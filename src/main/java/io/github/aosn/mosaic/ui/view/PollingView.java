@@ -12,6 +12,7 @@ import com.vaadin.spring.annotation.SpringView;
 import com.vaadin.ui.*;
 import com.vaadin.ui.themes.ValoTheme;
 import io.github.aosn.mosaic.MosaicApplication;
+import io.github.aosn.mosaic.domain.model.poll.Book;
 import io.github.aosn.mosaic.domain.model.poll.Poll;
 import io.github.aosn.mosaic.domain.model.poll.Vote;
 import io.github.aosn.mosaic.domain.service.auth.UserService;
@@ -28,8 +29,13 @@ import io.github.aosn.mosaic.ui.view.layout.ViewRoot;
 import io.github.aosn.mosaic.ui.view.style.Notifications;
 import org.vaadin.spring.i18n.I18N;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * <p>Required session parameter:</p>
@@ -45,6 +51,7 @@ public class PollingView extends CustomComponent implements View {
 
     public static final String VIEW_NAME = "vote";
     public static final String ATTR_POLL_ID = "mosaic.poll.id";
+    private static final long SUBMIT_TIMEOUT_SECONDS = 30;
     private static final long serialVersionUID = MosaicApplication.MOSAIC_SERIAL_VERSION_UID;
     private transient final I18N i18n;
     private transient final UserService userService;
@@ -123,6 +130,10 @@ public class PollingView extends CustomComponent implements View {
             tableCaption = i18n.get("polling.caption.books.n");
         }
         contentPane.addComponent(new Label(doublesCaption));
+        var method = poll.getVotingMethod();
+        if (method.isRanked()) {
+            contentPane.addComponent(new Label(i18n.get("polling.label.ranked")));
+        }
 
         var rows = poll.getBooks().stream()
                 .map(r -> IssueTable.Row.from(r,
@@ -131,19 +142,28 @@ public class PollingView extends CustomComponent implements View {
                 .collect(Collectors.toList());
         contentPane.addComponent(new IssueTable(tableCaption, IssueTable.ColumnGroup.OPEN, rows, i18n));
 
+        // Keep the selection order as the preference
+        var selection = new ArrayList<Book>();
+        rows.forEach(r -> r.getCheckBox().addValueChangeListener(e -> {
+            if (e.getValue()) {
+                selection.add(r.getBookEntity());
+            } else {
+                selection.remove(r.getBookEntity());
+            }
+        }));
+
         var cancelButton = new Button(i18n.get("common.button.cancel"),
                 e -> getUI().getNavigator().navigateTo(FrontView.VIEW_NAME));
         var submitButton = new Button(i18n.get("polling.button.submit"), VaadinIcons.THUMBS_UP);
         submitButton.setStyleName(ValoTheme.BUTTON_PRIMARY);
         submitButton.addClickListener(e -> {
             // Selection
-            var selected = rows.stream()
-                    .filter(r -> r.getCheckBox().getValue()).map(IssueTable.Row::getBookEntity)
-                    .collect(Collectors.toList());
+            var selected = new ArrayList<>(selection);
 
             // Validation
-            if (selected.size() < doubles) {
-                var under = doubles - selected.size();
+            var minSelections = method.minSelections(doubles);
+            if (selected.size() < minSelections) {
+                var under = minSelections - selected.size();
                 Notifications.showWarning((under == 1 ? i18n.get("polling.notification.books.under.1") :
                         i18n.get("polling.notification.books.under.n")).replace("%d", Integer.toString(under)));
                 return;
@@ -161,17 +181,24 @@ public class PollingView extends CustomComponent implements View {
             }
 
             var now = new Date();
-            var votes = selected.stream().map(i -> Vote.builder()
+            var votes = IntStream.range(0, selected.size()).mapToObj(i -> Vote.builder()
                     .date(now)
                     .user(userService.getUser())
-                    .book(i)
+                    .book(selected.get(i))
                     .poll(poll)
+                    .preference(i)
                     .build()).collect(Collectors.toList());
             try {
-                pollService.submit(poll, votes);
+                pollService.submitAsync(poll, votes).get(SUBMIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
                 Notifications.showSuccess(i18n.get("polling.notification.vote.submitted"));
                 getUI().getNavigator().navigateTo(FrontView.VIEW_NAME);
-            } catch (RuntimeException ex) {
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof PollService.DuplicateVoteException) {
+                    ErrorView.show(i18n.get("polling.error.voted"), null);
+                } else {
+                    ErrorView.show(i18n.get("polling.error.vote.failed"), ex.getCause());
+                }
+            } catch (InterruptedException | TimeoutException ex) {
                 ErrorView.show(i18n.get("polling.error.vote.failed"), ex);
             }
         });
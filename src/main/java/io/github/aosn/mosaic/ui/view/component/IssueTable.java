@@ -3,6 +3,7 @@
  */
 package io.github.aosn.mosaic.ui.view.component;
 
+import com.google.common.base.Strings;
 import com.vaadin.icons.VaadinIcons;
 import com.vaadin.shared.ui.ContentMode;
 import com.vaadin.ui.CheckBox;
@@ -17,11 +18,11 @@ import io.github.aosn.mosaic.ui.view.style.Style;
 import lombok.Builder;
 import lombok.Getter;
 import org.checkerframework.checker.nullness.qual.Nullable;
-import org.pegdown.PegDownProcessor;
 import org.vaadin.spring.i18n.I18N;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
@@ -79,7 +80,7 @@ public class IssueTable extends Table {
         private final Label title;
         private final Label category;
         private final Label user;
-        private final int votes;
+        private int votes;
         private final Label votesWithIcon;
 
         public static Row from(Book entity, @Nullable Predicate<GitHubLabel> partFilter,
@@ -87,7 +88,7 @@ public class IssueTable extends Table {
             var titleText = "#" + entity.getGitHubIssue().getId() + " " + entity.getGitHubIssue().getTitle();
             var title = new Label(createAnchor(entity.getUrl(), titleText), ContentMode.HTML);
             title.setStyleName(Style.LINK.className());
-            title.setDescription(markdownToHtml(entity.getGitHubIssue().getBody()), ContentMode.HTML);
+            title.setDescription(Strings.nullToEmpty(entity.getBodyHtml()), ContentMode.HTML);
             return Row.builder()
                     .bookEntity(entity)
                     .issueEntity(entity.getGitHubIssue())
@@ -96,18 +97,17 @@ public class IssueTable extends Table {
                     .category(createCategory(entity.getGitHubIssue().getLabels(), partFilter, labelTrimmer))
                     .user(new Label(entity.getGitHubIssue().getUser().getName()))
                     .votes(entity.getVotes())
-                    .votesWithIcon(new Label(IntStream.range(0, entity.getVotes())
-                            .mapToObj(i -> VaadinIcons.THUMBS_UP.getHtml())
-                            .collect(Collectors.joining()), ContentMode.HTML))
+                    .votesWithIcon(new Label(createVotesIcons(entity.getVotes()), ContentMode.HTML))
                     .build();
         }
 
-        public static Row from(GitHubIssue entity, @Nullable Predicate<GitHubLabel> partFilter,
+        public static Row from(GitHubIssue entity, Function<GitHubIssue, String> bodyRenderer,
+                               @Nullable Predicate<GitHubLabel> partFilter,
                                @Nullable UnaryOperator<String> labelTrimmer) {
             var titleText = "#" + entity.getId() + " " + entity.getTitle();
             var title = new Label(createAnchor(entity.getUrl(), titleText), ContentMode.HTML);
             title.setStyleName(Style.LINK.className());
-            title.setDescription(markdownToHtml(entity.getBody()), ContentMode.HTML);
+            title.setDescription(bodyRenderer.apply(entity), ContentMode.HTML);
             return Row.builder()
                     .issueEntity(entity)
                     .checkBox(new CheckBox())
@@ -117,6 +117,25 @@ public class IssueTable extends Table {
                     .build();
         }
 
+        /**
+         * Add votes to this row.
+         * <p>The table must be sorted again by {@link Table#sort()}, which also refreshes the rows, to show the
+         * count in order.</p>
+         *
+         * @param amount number of votes to add
+         * @since 0.7
+         */
+        public void addVotes(int amount) {
+            votes += amount;
+            votesWithIcon.setValue(createVotesIcons(votes));
+        }
+
+        private static String createVotesIcons(int votes) {
+            return IntStream.range(0, votes)
+                    .mapToObj(i -> VaadinIcons.THUMBS_UP.getHtml())
+                    .collect(Collectors.joining());
+        }
+
         private static String createAnchor(String url, String title) {
             return "<a href=\"" + url + "\" target=\"_blank\">" + title + "</a>";
         }
@@ -131,9 +150,5 @@ public class IssueTable extends Table {
                     .collect(Collectors.joining());
             return new Label(label, ContentMode.HTML);
         }
-
-        private static String markdownToHtml(String markdown) {
-            return new PegDownProcessor().markdownToHtml(markdown);
-        }
     }
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.ui.view.component;
+
+import com.vaadin.data.provider.DataProvider;
+import com.vaadin.server.SerializableBiFunction;
+import com.vaadin.ui.Grid;
+import io.github.aosn.mosaic.MosaicApplication;
+import io.github.aosn.mosaic.domain.model.auth.User;
+import io.github.aosn.mosaic.domain.model.poll.PollSummary;
+import io.github.aosn.mosaic.ui.view.style.Style;
+import org.vaadin.spring.i18n.I18N;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link Grid} for {@link PollSummary}s, fetches rows page by page while scrolling.
+ * <p>Pages are requested with the last loaded summary (keyset), so rows are appended in order until the
+ * requested range is covered.</p>
+ *
+ * @author mikan
+ * @since 0.7
+ */
+public class PollGrid extends Grid<PollTable.Row> {
+
+    private static final long serialVersionUID = MosaicApplication.MOSAIC_SERIAL_VERSION_UID;
+    private static final int PAGE_SIZE = 20;
+    private static final int VISIBLE_ROWS = 10;
+    private final List<PollTable.Row> loaded = new ArrayList<>();
+
+    /**
+     * Constructs a grid of the result buttons.
+     *
+     * @param caption    caption
+     * @param size       total number of polls
+     * @param pageLoader loads the page following the specified summary ({@code null} for the first page) with
+     *                   the maximum number of summaries
+     * @param user       current user, or {@code null}
+     * @param i18n       message source
+     */
+    public PollGrid(String caption, int size,
+                    SerializableBiFunction<PollSummary, Integer, List<PollSummary>> pageLoader, User user, I18N i18n) {
+        setCaption(caption);
+        setStyleName(Style.POLLS_TABLE.className());
+        addColumn(PollTable.Row::getSubject).setCaption(i18n.get("front.column.poll.subject"));
+        addColumn(PollTable.Row::getBegin).setCaption(i18n.get("front.column.poll.begin"));
+        addColumn(PollTable.Row::getVotes).setCaption(i18n.get("front.column.poll.votes"));
+        addComponentColumn(PollTable.Row::getResultButton).setCaption(i18n.get("front.column.poll.result"));
+        setSelectionMode(SelectionMode.NONE);
+        setWidth(100, Unit.PERCENTAGE);
+        setHeightByRows(Math.max(1, Math.min(size, VISIBLE_ROWS)));
+        setDataProvider(DataProvider.fromCallbacks(query -> {
+            var end = Math.min(query.getOffset() + query.getLimit(), size);
+            while (loaded.size() < end) {
+                var last = loaded.isEmpty() ? null : loaded.get(loaded.size() - 1).getEntity();
+                var page = pageLoader.apply(last, Math.max(PAGE_SIZE, end - loaded.size()));
+                if (page.isEmpty()) {
+                    break; // deleted or reopened after counted
+                }
+                page.forEach(p -> loaded.add(PollTable.Row.from(p, user, i18n)));
+            }
+            return loaded.stream().skip(query.getOffset()).limit(query.getLimit());
+        }, query -> size));
+    }
+}
@@ -13,7 +13,7 @@ import com.vaadin.v7.ui.Table;
 import io.github.aosn.mosaic.MosaicApplication;
 import io.github.aosn.mosaic.domain.model.auth.User;
 import io.github.aosn.mosaic.domain.model.poll.Poll;
-import io.github.aosn.mosaic.domain.model.poll.Vote;
+import io.github.aosn.mosaic.domain.model.poll.PollSummary;
 import io.github.aosn.mosaic.ui.view.PollResultView;
 import io.github.aosn.mosaic.ui.view.PollingView;
 import io.github.aosn.mosaic.ui.view.style.Style;
@@ -64,7 +64,6 @@ public class PollTable extends Table {
 
     public enum ColumnGroup {
         OPENING("subject", "begin", "votes", "voteButton"),
-        CLOSED("subject", "begin", "votes", "resultButton"),
         OWNER("subject", "begin", "votes", "ownerButton");
         private final String[] columns;
 
@@ -85,7 +84,7 @@ public class PollTable extends Table {
 
         public static final DateFormat DATE_FORMAT = new SimpleDateFormat("yyyy/MM/dd");
         private static final long serialVersionUID = MosaicApplication.MOSAIC_SERIAL_VERSION_UID;
-        private transient final Poll entity;
+        private final PollSummary entity;
         private final String subject;
         private final String begin;
         private final String end;
@@ -94,12 +93,12 @@ public class PollTable extends Table {
         private final Button resultButton;
         private final Button ownerButton;
 
-        public static Row from(Poll entity, User user, I18N i18n) {
+        public static Row from(PollSummary entity, User user, I18N i18n) {
             var pollId = entity.getId();
 
             // Start button or progress button
             Button voteOrProgressButton;
-            if (entity.isVoted(user)) {
+            if (entity.isVoted()) {
                 voteOrProgressButton = new Button(i18n.get("common.button.poll.progress"), VaadinIcons.BAR_CHART);
                 voteOrProgressButton.addClickListener(e ->
                         UI.getCurrent().getNavigator().navigateTo(PollResultView.VIEW_NAME + "/" + pollId));
@@ -124,17 +123,13 @@ public class PollTable extends Table {
             ownerButton.addClickListener(e ->
                     UI.getCurrent().getNavigator().navigateTo(PollResultView.VIEW_NAME + "/" + pollId));
 
-            // Votes count
-            int votes = entity.getVotes() == null ? 0 : Math.toIntExact(entity.getVotes().stream()
-                    .map(Vote::getUser).distinct().count());
-
             // Build
             return Row.builder()
                     .entity(entity)
                     .subject(entity.getSubject())
                     .begin(entity.getBegin() != null ? DATE_FORMAT.format(entity.getBegin()) : "")
                     .end(entity.getEnd() != null ? DATE_FORMAT.format(entity.getEnd()) : "")
-                    .votes(votes)
+                    .votes(entity.getVoters())
                     .voteButton(voteOrProgressButton)
                     .resultButton(resultButton)
                     .ownerButton(ownerButton)
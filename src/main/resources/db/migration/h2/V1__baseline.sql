@@ -0,0 +1,96 @@
+-- Schema of 0.6 and earlier, as created by hibernate ddl-auto until 0.7. Do not change, additions go to later
+-- versions. Existing databases are baselined at this version (flyway.baseline-on-migrate).
+
+create table users (
+    id          bigint      generated by default as identity,
+    name        varchar(40) not null,
+    source      integer     not null,
+    first_login timestamp,
+    last_login  timestamp,
+    primary key (id)
+);
+
+create table groups (
+    organization         varchar(40)  not null,
+    repository           varchar(100) not null,
+    label_filter         varchar(64)  not null,
+    owner_id             bigint,
+    slack_webhook        varchar(80),
+    slack_channel        varchar(32),
+    slack_username       varchar(32),
+    slack_begin_template varchar(200),
+    slack_end_template   varchar(200),
+    primary key (organization, repository),
+    constraint FKke9gpecgx7u1oef8lsd9tax3c foreign key (owner_id) references users (id)
+);
+
+create table books (
+    id    bigint       generated by default as identity,
+    issue bigint       not null,
+    url   varchar(255) not null,
+    primary key (id)
+);
+
+create table polls (
+    id           bigint       generated by default as identity,
+    subject      varchar(255) not null,
+    owner_id     bigint       not null,
+    state        integer      not null,
+    begin        date,
+    end          date,
+    doubles      integer      not null,
+    win_book_id  bigint,
+    organization varchar(40),
+    repository   varchar(100),
+    primary key (id),
+    constraint FK3ja3vpl03boek8vo63ido4jmd foreign key (owner_id) references users (id),
+    constraint FKs3y9aegvxaoqm1q38kylaiv6p foreign key (win_book_id) references books (id),
+    constraint FK25lmyt6v7lhlftpnv98aa540c foreign key (organization, repository)
+        references groups (organization, repository)
+);
+
+create table polls_books (
+    poll_id  bigint not null,
+    books_id bigint not null,
+    constraint FKtliov68q5hobatt0sgehjjn3 foreign key (poll_id) references polls (id),
+    constraint FKo4jvbhxynmxi87jy2ovm2atb foreign key (books_id) references books (id)
+);
+
+-- votes_id was the join column of the unidirectional Poll.votes, unused since 0.7
+create table votes (
+    id       bigint    generated by default as identity,
+    date     timestamp not null,
+    user_id  bigint    not null,
+    book_id  bigint    not null,
+    poll_id  bigint    not null,
+    votes_id bigint,
+    primary key (id),
+    constraint FKli4uj3ic2vypf5pialchj925e foreign key (user_id) references users (id),
+    constraint FKhsic56e3q1152tqogwx1rl6uh foreign key (book_id) references books (id),
+    constraint FK7trt3uyihr4g13hva9d31puxg foreign key (poll_id) references polls (id),
+    constraint FKakba0n6lah1f5683k3pad9afs foreign key (votes_id) references polls (id)
+);
+
+create table stocks (
+    id             bigint       generated by default as identity,
+    user_id        bigint       not null,
+    isbn           varchar(13)  not null,
+    visibility     integer      not null,
+    progress       integer      not null,
+    obtain_type    integer,
+    obtain_date    date,
+    completed_date date,
+    media_type     integer,
+    bought_place   varchar(128),
+    short_text     longvarbinary,
+    long_text      longvarbinary,
+    title          varchar(200) not null,
+    subtitle       varchar(200),
+    published_date varchar(10)  not null,
+    page_count     integer      not null,
+    thumbnail_url  varchar(200),
+    created_time   timestamp    not null,
+    updated_time   timestamp,
+    primary key (id),
+    constraint FKg0lmdnqpu9ib3sardb33sv4nq foreign key (user_id) references users (id)
+);
@@ -0,0 +1,15 @@
+-- Per-book tallies and voter count of polls, kept on every vote instead of recounting the votes.
+-- voter_count is null until counted (polls created before 0.7, see V9).
+
+create table tallies (
+    id      bigint  generated by default as identity,
+    poll_id bigint  not null,
+    book_id bigint  not null,
+    votes   integer not null,
+    primary key (id),
+    constraint uk_tallies_poll_book unique (poll_id, book_id),
+    constraint fk_tallies_poll foreign key (poll_id) references polls (id),
+    constraint fk_tallies_book foreign key (book_id) references books (id)
+);
+
+alter table polls add column voter_count integer;
@@ -0,0 +1,23 @@
+-- One vote per user and book. Votes doubled by concurrent submissions before 0.7 are removed first.
+
+delete from votes
+where id not in (select min(id) from votes group by poll_id, user_id, book_id);
+
+alter table votes add constraint uk_votes_poll_user_book unique (poll_id, user_id, book_id);
+
+-- One ballot per user and poll, inserted before the votes of the ballot. Existing ballots are taken from the
+-- votes, dated by their first vote.
+
+create table voters (
+    id      bigint    generated by default as identity,
+    poll_id bigint    not null,
+    user_id bigint    not null,
+    date    timestamp not null,
+    primary key (id),
+    constraint uk_voters_poll_user unique (poll_id, user_id),
+    constraint fk_voters_poll foreign key (poll_id) references polls (id),
+    constraint fk_voters_user foreign key (user_id) references users (id)
+);
+
+insert into voters (poll_id, user_id, date)
+select poll_id, user_id, min(date) from votes group by poll_id, user_id;
@@ -0,0 +1,5 @@
+-- Snapshot of the GitHub issue of each book and its rendered body, null until resolved.
+
+alter table books add column git_hub_issue varchar(1048576);
+alter table books add column body_html clob;
+alter table books add column issue_fetched timestamp;
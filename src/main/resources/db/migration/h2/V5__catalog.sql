@@ -0,0 +1,16 @@
+-- Local catalog of the books looked up by ISBN.
+
+create table catalog (
+    isbn           varchar(13)  not null,
+    title          varchar(200),
+    subtitle       varchar(200),
+    page_count     integer      not null,
+    published_date varchar(10)  not null,
+    publisher      varchar(200),
+    authors        varchar(500),
+    language       varchar(10),
+    e_book         boolean      not null,
+    thumbnail_url  varchar(200),
+    created_time   timestamp    not null,
+    primary key (isbn)
+);
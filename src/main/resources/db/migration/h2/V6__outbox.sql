@@ -0,0 +1,18 @@
+-- Outbox of the Slack notifications, sent and retried by the sweeper. Digest entries are tagged with their
+-- event and kept here until the end of the digest window.
+
+create table outbox (
+    id           bigint       generated by default as identity,
+    webhook      varchar(500) not null,
+    channel      varchar(200),
+    username     varchar(200),
+    text         clob         not null,
+    state        integer      not null,
+    attempts     integer      not null,
+    created_time timestamp    not null,
+    next_attempt timestamp    not null,
+    sent_time    timestamp,
+    last_error   varchar(500),
+    digest_event varchar(100),
+    primary key (id)
+);
@@ -0,0 +1,8 @@
+-- Organization memberships of the users, shared between instances.
+
+create table memberships (
+    user_name     varchar(40)   not null,
+    organizations varchar(2000) not null,
+    updated_time  timestamp     not null,
+    primary key (user_name)
+);
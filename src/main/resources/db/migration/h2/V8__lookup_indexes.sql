@@ -0,0 +1,67 @@
+-- Indexes for the lookups on every request: current user, votes of a poll and stocks of a user.
+-- votes(poll_id, user_id) is covered by the unique constraint on (poll_id, user_id, book_id).
+
+-- Users doubled by concurrent first logins before 0.7 are merged into the first row of each (name, source)
+-- before the unique index is created. A poll keeps only the ballot of the first of the merged rows that voted.
+
+create table user_merges (
+    old_id bigint not null,
+    new_id bigint not null,
+    primary key (old_id)
+);
+
+insert into user_merges (old_id, new_id)
+select u.id, f.first_id
+from users u
+         join (select name, source, min(id) as first_id
+               from users
+               group by name, source
+               having count(*) > 1) f
+              on f.name = u.name and f.source = u.source
+where u.id <> f.first_id;
+
+delete from votes v
+where exists(select 1
+             from user_merges m
+                      join votes w on w.poll_id = v.poll_id and w.user_id < v.user_id
+                      left join user_merges mw on mw.old_id = w.user_id
+             where m.old_id = v.user_id
+               and coalesce(mw.new_id, w.user_id) = m.new_id);
+
+delete from voters v
+where exists(select 1
+             from user_merges m
+                      join voters w on w.poll_id = v.poll_id and w.user_id < v.user_id
+                      left join user_merges mw on mw.old_id = w.user_id
+             where m.old_id = v.user_id
+               and coalesce(mw.new_id, w.user_id) = m.new_id);
+
+update votes v
+set user_id = (select m.new_id from user_merges m where m.old_id = v.user_id)
+where user_id in (select old_id from user_merges);
+
+update voters v
+set user_id = (select m.new_id from user_merges m where m.old_id = v.user_id)
+where user_id in (select old_id from user_merges);
+
+update polls p
+set owner_id = (select m.new_id from user_merges m where m.old_id = p.owner_id)
+where owner_id in (select old_id from user_merges);
+
+update groups g
+set owner_id = (select m.new_id from user_merges m where m.old_id = g.owner_id)
+where owner_id in (select old_id from user_merges);
+
+update stocks s
+set user_id = (select m.new_id from user_merges m where m.old_id = s.user_id)
+where user_id in (select old_id from user_merges);
+
+delete from users
+where id in (select old_id from user_merges);
+
+drop table user_merges;
+
+create unique index uk_users_name_source on users (name, source);
+create index idx_votes_book on votes (book_id);
+create index idx_stocks_user on stocks (user_id);
+create index idx_stocks_isbn on stocks (isbn);
@@ -0,0 +1,13 @@
+-- Count votes of the polls created before 0.7, formerly done at every startup.
+-- Polls of 0.6 have no voter_count (V2), and their duplicated votes are already removed (V3).
+
+insert into tallies (poll_id, book_id, votes)
+select pb.poll_id, pb.books_id,
+       (select count(*) from votes v where v.poll_id = pb.poll_id and v.book_id = pb.books_id)
+from polls_books pb
+         join polls p on p.id = pb.poll_id
+where p.voter_count is null;
+
+update polls p
+set voter_count = (select count(distinct v.user_id) from votes v where v.poll_id = p.id)
+where p.voter_count is null;
@@ -0,0 +1,4 @@
+-- Voting method of polls (null for plurality) and preference order of votes (null for unranked votes).
+
+alter table polls add column voting_method integer;
+alter table votes add column preference integer;
@@ -0,0 +1,12 @@
+-- Lock row of the scheduled poll closer, and index to find the expired open polls.
+
+create table scheduler_locks (
+    name         varchar(64)  not null,
+    locked_until datetime(3)  not null,
+    locked_by    varchar(100),
+    primary key (name)
+) engine = InnoDB default charset = utf8mb4;
+
+insert into scheduler_locks (name, locked_until) values ('poll-closer', '1970-01-01 00:00:00');
+
+create index idx_polls_state_end on polls (state, end);
@@ -0,0 +1,29 @@
+-- One vote per user and book. Votes doubled by concurrent submissions before 0.7 are removed first.
+
+delete v
+from votes v
+         join (select poll_id, user_id, book_id, min(id) as first_id
+               from votes
+               group by poll_id, user_id, book_id
+               having count(*) > 1) d
+              on d.poll_id = v.poll_id and d.user_id = v.user_id and d.book_id = v.book_id
+where v.id <> d.first_id;
+
+alter table votes add constraint uk_votes_poll_user_book unique (poll_id, user_id, book_id);
+
+-- One ballot per user and poll, inserted before the votes of the ballot. Existing ballots are taken from the
+-- votes, dated by their first vote.
+
+create table voters (
+    id      bigint   not null auto_increment,
+    poll_id bigint   not null,
+    user_id bigint   not null,
+    date    datetime not null,
+    primary key (id),
+    constraint uk_voters_poll_user unique (poll_id, user_id),
+    constraint fk_voters_poll foreign key (poll_id) references polls (id),
+    constraint fk_voters_user foreign key (user_id) references users (id)
+) engine = InnoDB default charset = utf8mb4;
+
+insert into voters (poll_id, user_id, date)
+select poll_id, user_id, min(date) from votes group by poll_id, user_id;
@@ -0,0 +1,5 @@
+-- Snapshot of the GitHub issue of each book and its rendered body, null until resolved.
+
+alter table books add column git_hub_issue longtext;
+alter table books add column body_html longtext;
+alter table books add column issue_fetched datetime;
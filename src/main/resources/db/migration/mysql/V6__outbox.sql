@@ -0,0 +1,18 @@
+-- Outbox of the Slack notifications, sent and retried by the sweeper. Digest entries are tagged with their
+-- event and kept here until the end of the digest window.
+
+create table outbox (
+    id           bigint       not null auto_increment,
+    webhook      varchar(500) not null,
+    channel      varchar(200),
+    username     varchar(200),
+    text         longtext     not null,
+    state        integer      not null,
+    attempts     integer      not null,
+    created_time datetime(3)  not null,
+    next_attempt datetime(3)  not null,
+    sent_time    datetime(3),
+    last_error   varchar(500),
+    digest_event varchar(100),
+    primary key (id)
+) engine = InnoDB default charset = utf8mb4;
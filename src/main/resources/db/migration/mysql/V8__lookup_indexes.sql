@@ -0,0 +1,61 @@
+-- Indexes for the lookups on every request: current user, votes of a poll and stocks of a user.
+-- votes(poll_id, user_id) is covered by the unique constraint on (poll_id, user_id, book_id).
+
+-- Users doubled by concurrent first logins before 0.7 are merged into the first row of each (name, source)
+-- before the unique index is created. A poll keeps only the ballot of the first of the merged rows that voted.
+
+create table user_merges (
+    old_id bigint not null,
+    new_id bigint not null,
+    primary key (old_id)
+) engine = InnoDB default charset = utf8mb4;
+
+insert into user_merges (old_id, new_id)
+select u.id, f.first_id
+from users u
+         join (select name, source, min(id) as first_id
+               from users
+               group by name, source
+               having count(*) > 1) f
+              on f.name = u.name and f.source = u.source
+where u.id <> f.first_id;
+
+delete v
+from votes v
+         join user_merges m on m.old_id = v.user_id
+         join votes w on w.poll_id = v.poll_id and w.user_id < v.user_id
+         left join user_merges mw on mw.old_id = w.user_id
+where coalesce(mw.new_id, w.user_id) = m.new_id;
+
+delete v
+from voters v
+         join user_merges m on m.old_id = v.user_id
+         join voters w on w.poll_id = v.poll_id and w.user_id < v.user_id
+         left join user_merges mw on mw.old_id = w.user_id
+where coalesce(mw.new_id, w.user_id) = m.new_id;
+
+update votes v join user_merges m on m.old_id = v.user_id
+set v.user_id = m.new_id;
+
+update voters v join user_merges m on m.old_id = v.user_id
+set v.user_id = m.new_id;
+
+update polls p join user_merges m on m.old_id = p.owner_id
+set p.owner_id = m.new_id;
+
+update `groups` g join user_merges m on m.old_id = g.owner_id
+set g.owner_id = m.new_id;
+
+update stocks s join user_merges m on m.old_id = s.user_id
+set s.user_id = m.new_id;
+
+delete u
+from users u
+         join user_merges m on m.old_id = u.id;
+
+drop table user_merges;
+
+create unique index uk_users_name_source on users (name, source);
+create index idx_votes_book on votes (book_id);
+create index idx_stocks_user on stocks (user_id);
+create index idx_stocks_isbn on stocks (isbn);
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationType;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Migrates an empty H2 database and boots with {@code ddl-auto: validate}, so that the entities and the
+ * migration scripts cannot drift apart.
+ *
+ * @author mikan
+ * @since 0.7
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:migration")
+public class SchemaMigrationTests {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Value("${spring.jpa.hibernate.ddl-auto}")
+    private String ddlAuto;
+
+    @Test
+    public void migrateEmptyDatabase() {
+        var info = flyway.info();
+        assertThat(info.pending()).isEmpty();
+        assertThat(info.applied()).hasSize(info.all().length);
+        // migrated from scratch, not baselined
+        assertThat(info.applied()[0].getType()).isEqualTo(MigrationType.SQL);
+        assertThat(info.applied()[0].getVersion().getVersion()).isEqualTo("1");
+    }
+
+    @Test
+    public void validateSchema() {
+        // the context does not start if the schema does not match the entities
+        assertThat(ddlAuto).isEqualTo("validate");
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.model.poll;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.github.aosn.mosaic.domain.model.poll.PollFixtures.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author mikan
+ * @since 0.7
+ */
+@RunWith(Parameterized.class)
+public class BallotsTests {
+
+    @Parameter
+    public String description;
+
+    @Parameter(1)
+    public List<Vote> votes;
+
+    @Parameter(2)
+    public String[] ballots;
+
+    @Parameter(3)
+    public int[] firstChoices;
+
+    private static final List<Book> BOOKS = books(3);
+
+    @Parameters(name = "{0}")
+    public static List<Object[]> cases() {
+        var interleaved = new ArrayList<Vote>();
+        var first = votes(BOOKS, "AB", "C");
+        interleaved.add(first.get(0));
+        interleaved.add(first.get(2));
+        interleaved.add(first.get(1));
+        var reordered = votes(BOOKS, "CAB");
+        var unknownBook = new ArrayList<>(votes(BOOKS, "BA"));
+        unknownBook.addAll(votes(books(4), "D"));
+        return List.of(
+                // description, votes, expected choices of each ballot, expected first choices of A, B, C
+                row("no votes", List.of(), ballots(), ints(0, 0, 0)),
+                row("ranked", votes(BOOKS, "BAC", "C", "AB"), ballots("BAC", "C", "AB"), ints(1, 1, 1)),
+                row("ordered by preference", List.of(reordered.get(2), reordered.get(0), reordered.get(1)),
+                        ballots("CAB"), ints(0, 0, 1)),
+                row("legacy without preference", legacyVotes(BOOKS, "CA", "B"), ballots("CA", "B"), ints(0, 1, 1)),
+                row("interleaved users", interleaved, ballots("AB", "C"), ints(1, 0, 1)),
+                row("other books ignored", unknownBook, ballots("BA"), ints(0, 1, 0)));
+    }
+
+    private static Object[] row(Object... values) {
+        return values;
+    }
+
+    private static String[] ballots(String... ballots) {
+        return ballots;
+    }
+
+    private static int[] ints(int... values) {
+        return values;
+    }
+
+    @Test
+    public void from() {
+        var actual = Ballots.from(BOOKS, votes);
+        assertThat(actual.getBookCount()).isEqualTo(BOOKS.size());
+        var choices = new String[actual.size()];
+        for (var b = 0; b < actual.size(); b++) {
+            var ballot = new StringBuilder();
+            for (var p = actual.begin(b); p < actual.end(b); p++) {
+                ballot.append((char) ('A' + actual.choice(p)));
+            }
+            choices[b] = ballot.toString();
+        }
+        assertThat(choices).containsExactly(ballots);
+        assertThat(actual.countFirstChoices()).isEqualTo(firstChoices);
+    }
+}
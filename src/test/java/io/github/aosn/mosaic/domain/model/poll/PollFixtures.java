@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.model.poll;
+
+import io.github.aosn.mosaic.domain.model.auth.User;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Books and votes of the tests, books are named by letters ({@code A} for the first book).
+ *
+ * @author mikan
+ * @since 0.7
+ */
+final class PollFixtures {
+
+    private PollFixtures() {
+    }
+
+    /**
+     * Create books of which issue numbers are as same as their order.
+     *
+     * @param count number of books
+     * @return books {@code A}, {@code B}, ... with issue 1, 2, ...
+     */
+    static List<Book> books(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(i -> Book.builder().id((long) i).issue((long) i).url("#" + i).build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Create votes of the ballots, one user per ballot.
+     *
+     * @param books   books
+     * @param ballots choices of each user ordered by preference, e.g. {@code "BA"}
+     * @return votes
+     */
+    static List<Vote> votes(List<Book> books, String... ballots) {
+        return votes(books, true, ballots);
+    }
+
+    /**
+     * Create votes of the ballots without preference, as cast before 0.7.
+     *
+     * @param books   books
+     * @param ballots choices of each user ordered as submitted
+     * @return votes
+     */
+    static List<Vote> legacyVotes(List<Book> books, String... ballots) {
+        return votes(books, false, ballots);
+    }
+
+    private static List<Vote> votes(List<Book> books, boolean ranked, String... ballots) {
+        var votes = new ArrayList<Vote>();
+        for (var b = 0; b < ballots.length; b++) {
+            var user = User.builder().id((long) b + 1).name("user" + (b + 1)).build();
+            for (var p = 0; p < ballots[b].length(); p++) {
+                votes.add(Vote.builder().date(new Date()).user(user).book(book(books, ballots[b].charAt(p)))
+                        .preference(ranked ? p : null).build());
+            }
+        }
+        return votes;
+    }
+
+    static Book book(List<Book> books, char name) {
+        return books.get(name - 'A');
+    }
+
+    static String name(List<Book> books, Book book) {
+        return String.valueOf((char) ('A' + books.indexOf(book)));
+    }
+
+    /**
+     * Get the books of the ranking.
+     *
+     * @param books   books
+     * @param ranking ranking
+     * @return names of the books ordered by rank, e.g. {@code "BAC"}
+     */
+    static String order(List<Book> books, Ranking ranking) {
+        return IntStream.range(0, ranking.size())
+                .mapToObj(r -> name(books, ranking.getBook(r)))
+                .collect(Collectors.joining());
+    }
+}
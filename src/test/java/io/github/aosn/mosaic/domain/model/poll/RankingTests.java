@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.model.poll;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static io.github.aosn.mosaic.domain.model.poll.PollFixtures.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author mikan
+ * @since 0.7
+ */
+@RunWith(Parameterized.class)
+public class RankingTests {
+
+    @Parameter
+    public String description;
+
+    @Parameter(1)
+    public int[] counts;
+
+    @Parameter(2)
+    public String order;
+
+    @Parameter(3)
+    public int[] places;
+
+    @Parameter(4)
+    public int[] margins;
+
+    @Parameter(5)
+    public int leaders;
+
+    @Parameters(name = "{0}")
+    public static List<Object[]> cases() {
+        return List.of(
+                // description, votes of A, B, ..., order, places, margins, leaders
+                row("no books", ints(), "", ints(), ints(), 0),
+                row("no votes", ints(0, 0, 0), "ABC", ints(1, 1, 1), ints(0, 0, 0), 0),
+                row("single winner", ints(1, 3, 1), "BAC", ints(1, 2, 2), ints(2, 0, 1), 1),
+                row("tie for first", ints(2, 2, 1), "ABC", ints(1, 1, 3), ints(0, 1, 1), 2),
+                row("tie by later issues", ints(0, 2, 2), "BCA", ints(1, 1, 3), ints(0, 2, 0), 2),
+                row("all tied", ints(1, 1, 1, 1), "ABCD", ints(1, 1, 1, 1), ints(0, 0, 0, 1), 4));
+    }
+
+    private static Object[] row(Object... values) {
+        return values;
+    }
+
+    private static int[] ints(int... values) {
+        return values;
+    }
+
+    @Test
+    public void fromTallies() {
+        var books = books(counts.length);
+        var tallies = new ArrayList<Tally>();
+        for (var i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) { // books without tally are counted as zero
+                tallies.add(Tally.builder().book(books.get(i)).votes(counts[i]).build());
+            }
+        }
+        assertRanking(books, Ranking.fromTallies(books, tallies));
+    }
+
+    @Test
+    public void fromVotes() {
+        var books = books(counts.length);
+        var ballots = new ArrayList<String>();
+        for (var i = 0; i < counts.length; i++) {
+            for (var v = 0; v < counts[i]; v++) {
+                ballots.add(name(books, books.get(i)));
+            }
+        }
+        assertRanking(books, Ranking.fromVotes(books, votes(books, ballots.toArray(new String[0]))));
+    }
+
+    @Test
+    public void orderOfBooksIsIrrelevant() {
+        // ties are broken by the issue number, not by the position in the poll
+        var books = books(counts.length);
+        var reversed = new ArrayList<>(books);
+        var reversedCounts = new int[counts.length];
+        for (var i = 0; i < counts.length; i++) {
+            reversed.set(i, books.get(counts.length - 1 - i));
+            reversedCounts[i] = counts[counts.length - 1 - i];
+        }
+        assertRanking(books, new Ranking(reversed, reversedCounts, reversedCounts));
+    }
+
+    private void assertRanking(List<Book> books, Ranking ranking) {
+        assertThat(order(books, ranking)).isEqualTo(order);
+        assertThat(IntStream.range(0, ranking.size()).map(ranking::getPlace).toArray()).isEqualTo(places);
+        assertThat(IntStream.range(0, ranking.size()).map(ranking::getMargin).toArray()).isEqualTo(margins);
+        assertThat(ranking.countLeaders()).isEqualTo(leaders);
+        assertThat(ranking.isTie()).isEqualTo(leaders > 1);
+        assertThat(ranking.getWinner()).isEqualTo(leaders == 0 ? null : ranking.getBook(0));
+        books.forEach(b -> assertThat(ranking.getVotes(b)).isEqualTo(counts[books.indexOf(b)]));
+    }
+
+    @Test
+    public void empty() {
+        var ranking = Ranking.empty();
+        assertThat(ranking.size()).isZero();
+        assertThat(ranking.getWinner()).isNull();
+        assertThat(ranking.isTie()).isFalse();
+        assertThat(ranking.getVotes(null)).isZero();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.model.poll;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.util.List;
+
+import static io.github.aosn.mosaic.domain.model.poll.PollFixtures.*;
+import static io.github.aosn.mosaic.domain.model.poll.VotingMethod.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author mikan
+ * @since 0.7
+ */
+@RunWith(Parameterized.class)
+public class VotingMethodTests {
+
+    @Parameter
+    public String description;
+
+    @Parameter(1)
+    public VotingMethod method;
+
+    @Parameter(2)
+    public int doubles;
+
+    @Parameter(3)
+    public int bookCount;
+
+    @Parameter(4)
+    public String[] ballots;
+
+    @Parameter(5)
+    public String order;
+
+    @Parameter(6)
+    public String scores;
+
+    @Parameter(7)
+    public String winner; // null if no votes
+
+    @Parameter(8)
+    public boolean tie;
+
+    @Parameters(name = "{0}")
+    public static List<Object[]> cases() {
+        return List.of(
+                // description, method, doubles, books, ballots, order, scores, winner, tie
+                row("plurality", PLURALITY, 1, 3, ballots("A", "B", "B"), "BAC", "2,1,0", "B", false),
+                row("plurality tie by issue", PLURALITY, 1, 3, ballots("B", "A"), "ABC", "1,1,0", "A", true),
+                row("plurality without votes", PLURALITY, 1, 3, ballots(), "ABC", "0,0,0", null, false),
+                row("approval", APPROVAL, 2, 3, ballots("AB", "BC", "C"), "BCA", "2,2,1", "B", true),
+                row("approval without votes", APPROVAL, 2, 2, ballots(), "AB", "0,0", null, false),
+                row("borda", BORDA, 3, 3, ballots("ABC", "BCA", "BAC"), "BAC", "8,6,4", "B", false),
+                row("borda tie by first choices", BORDA, 2, 3, ballots("BA", "BA", "AC", "C"), "BAC", "4,4,3", "B",
+                        false),
+                row("borda tie by issue", BORDA, 2, 2, ballots("AB", "BA"), "AB", "3,3", "A", true),
+                row("borda without votes", BORDA, 2, 2, ballots(), "AB", "0,0", null, false),
+                row("runoff majority", INSTANT_RUNOFF, 1, 3, ballots("A", "A", "B"), "ABC", "2,1,0", "A", false),
+                row("runoff transfer", INSTANT_RUNOFF, 2, 3, ballots("A", "A", "B", "B", "CB"), "BAC", "3,2,1", "B",
+                        false),
+                row("runoff exhausted ballots", INSTANT_RUNOFF, 1, 4, ballots("A", "B"), "ABCD", "1,1,0,0", "A",
+                        false),
+                row("runoff without votes", INSTANT_RUNOFF, 2, 3, ballots(), "ABC", "0,0,0", null, false));
+    }
+
+    private static Object[] row(Object... values) {
+        return values;
+    }
+
+    private static String[] ballots(String... ballots) {
+        return ballots;
+    }
+
+    @Test
+    public void rank() {
+        var books = books(bookCount);
+        var ranking = method.rank(books, doubles, Ballots.from(books, votes(books, ballots)));
+        assertThat(order(books, ranking)).isEqualTo(order);
+        var actualScores = new StringBuilder();
+        for (var r = 0; r < ranking.size(); r++) {
+            actualScores.append(r == 0 ? "" : ",").append(ranking.getVotes(r));
+        }
+        assertThat(actualScores.toString()).isEqualTo(scores);
+        assertThat(ranking.getWinner() == null ? null : name(books, ranking.getWinner())).isEqualTo(winner);
+        assertThat(ranking.isTie()).isEqualTo(tie);
+    }
+
+    @Test
+    public void rankLegacyVotes() {
+        // votes before 0.7 have no preference, choices are ordered as submitted
+        var books = books(bookCount);
+        var ranking = method.rank(books, doubles, Ballots.from(books, legacyVotes(books, ballots)));
+        assertThat(order(books, ranking)).isEqualTo(order);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2020 Alice on Sunday Nights Workshop Participants. All rights reserved.
+ */
+package io.github.aosn.mosaic.domain.service.poll;
+
+import io.github.aosn.mosaic.domain.model.auth.User;
+import io.github.aosn.mosaic.domain.model.poll.Book;
+import io.github.aosn.mosaic.domain.model.poll.Poll;
+import io.github.aosn.mosaic.domain.model.poll.Vote;
+import io.github.aosn.mosaic.domain.repository.auth.UserRepository;
+import io.github.aosn.mosaic.domain.repository.poll.VoteRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Submits ballots to a poll stored in the H2 database.
+ *
+ * @author mikan
+ * @since 0.7
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:polls")
+public class PollServiceTests {
+
+    @Autowired
+    private PollService pollService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    private User user;
+
+    private Poll poll;
+
+    @Before
+    public void setUp() {
+        var owner = userRepository.save(User.builder().name("owner").source(User.Source.GITHUB).build());
+        user = userRepository.save(User.builder().name("voter").source(User.Source.GITHUB).build());
+        poll = Poll.create(owner, LocalDate.now());
+        poll.setSubject("test");
+        poll.setBooks(List.of(Book.builder().issue(1L).url("https://example.com/1").build(),
+                Book.builder().issue(2L).url("https://example.com/2").build()));
+        pollService.create(poll);
+    }
+
+    @Test
+    public void submitSecondBallotOfSameUser() {
+        var votes = voteRepository.count();
+        pollService.submitAsync(poll, List.of(vote(poll.getBooks().get(0)))).join();
+        // other book, so that only the voter row can reject it
+        assertThatThrownBy(() -> pollService.submitAsync(poll, List.of(vote(poll.getBooks().get(1)))).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(PollService.DuplicateVoteException.class);
+        assertThat(voteRepository.count()).isEqualTo(votes + 1);
+    }
+
+    private Vote vote(Book book) {
+        return Vote.builder().poll(poll).user(user).book(book).date(new Date()).build();
+    }
+}